@@ -0,0 +1,28 @@
+package com.sillydev.quickstart.benchmarks;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkData {
+    private BenchmarkData() {}
+
+    public static List<BookEntity> createBooks(int count) {
+        List<BookEntity> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AuthorEntity authorEntity = AuthorEntity.builder()
+                    .id((long) (i % 50) + 1)
+                    .name("Author " + (i % 50))
+                    .age(20 + i % 60)
+                    .build();
+            books.add(BookEntity.builder()
+                    .isbn(String.format("%013d", i))
+                    .title("Book title number " + i)
+                    .authorEntity(authorEntity)
+                    .build());
+        }
+        return books;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sillydev.quickstart.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class BookApiLoadTest {
+    private BookApiLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int books = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+        double readRatio = args.length > 4 ? Double.parseDouble(args[4]) : 0.9;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            seedBooks(client, baseUrl, books);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+            List<Future<Samples>> workers = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                workers.add(executor.submit(() -> runClient(client, baseUrl, books, readRatio, deadline)));
+            }
+
+            Samples total = new Samples();
+            for (Future<Samples> worker : workers) {
+                total.addAll(worker.get());
+            }
+            report(clients, seconds, total);
+        }
+    }
+
+    private static void seedBooks(HttpClient client, String baseUrl, int books) throws Exception {
+        int chunk = 1000;
+        for (int from = 0; from < books; from += chunk) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + chunk, books); i++) {
+                if (i > from) {
+                    json.append(',');
+                }
+                json.append("{\"isbn\":\"").append(isbn(i)).append("\",\"title\":\"Load test book ").append(i).append("\"}");
+            }
+            json.append(']');
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/books"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(json.toString()))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding books failed with HTTP " + response.statusCode());
+            }
+        }
+    }
+
+    private static Samples runClient(HttpClient client, String baseUrl, int books, double readRatio, long deadline) {
+        Samples samples = new Samples();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            int book = random.nextInt(books);
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/books/" + isbn(book)))
+                    .timeout(Duration.ofSeconds(30));
+            if (random.nextDouble() < readRatio) {
+                request.GET();
+            } else {
+                request.header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load test book " + book + "\"}"));
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                samples.add(System.nanoTime() - start, response.statusCode() >= 500);
+            } catch (Exception e) {
+                samples.add(System.nanoTime() - start, true);
+            }
+        }
+        return samples;
+    }
+
+    private static void report(int clients, int seconds, Samples samples) {
+        long[] latencies = samples.sorted();
+        double throughput = (double) latencies.length / seconds;
+        System.out.printf("clients=%d duration=%ds requests=%d errors=%d throughput=%.1f/s%n",
+                clients, seconds, latencies.length, samples.errors, throughput);
+        System.out.printf("latency_ms p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), percentile(latencies, 1.0));
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static String isbn(int book) {
+        return String.format("%013d", book);
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+
+        private int size;
+
+        private long errors;
+
+        void add(long latency, boolean error) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(latencies, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
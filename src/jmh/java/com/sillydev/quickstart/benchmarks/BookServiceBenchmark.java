@@ -0,0 +1,94 @@
+package com.sillydev.quickstart.benchmarks;
+
+import com.sillydev.quickstart.BooksApiApplication;
+import com.sillydev.quickstart.controllers.BookController;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    private static final int BOOKS = 1000;
+
+    private ConfigurableApplicationContext context;
+
+    private BookService bookService;
+
+    private BookController bookController;
+
+    private List<BookEntity> books;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BooksApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN"
+                );
+        bookService = context.getBean(BookService.class);
+        bookController = context.getBean(BookController.class);
+        books = BenchmarkData.createBooks(BOOKS);
+        books.forEach(book -> book.setAuthorEntity(null));
+        bookService.createUpdateBooks(books);
+        books.forEach(book -> bookService.getBook(book.getIsbn()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String nextIsbn() {
+        next = (next + 1) % BOOKS;
+        return books.get(next).getIsbn();
+    }
+
+    @Benchmark
+    public Object createUpdateBook() {
+        String isbn = nextIsbn();
+        return bookService.createUpdateBook(isbn, BookEntity.builder().title("Updated " + isbn).build());
+    }
+
+    @Benchmark
+    public Object getBookCacheHit() {
+        return bookService.getBook(books.get(0).getIsbn());
+    }
+
+    @Benchmark
+    public Object controllerGetBookCacheHit() {
+        return bookController.getBook(books.get(0).getIsbn(), new ServletWebRequest(new MockHttpServletRequest()));
+    }
+}
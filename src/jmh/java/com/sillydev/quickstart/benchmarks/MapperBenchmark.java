@@ -0,0 +1,80 @@
+package com.sillydev.quickstart.benchmarks;
+
+import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.mappers.impl.AuthorMapper;
+import com.sillydev.quickstart.mappers.impl.BookMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1000"})
+    public int pageSize;
+
+    private List<BookEntity> books;
+
+    private List<BookDto> bookDtos;
+
+    private BookMapper bookMapper;
+
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        bookMapper = new BookMapper(new AuthorMapper());
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+        books = BenchmarkData.createBooks(pageSize);
+        bookDtos = books.stream().map(bookMapper::mapTo).toList();
+    }
+
+    @Benchmark
+    public void bookMapperMapTo(Blackhole blackhole) {
+        for (BookEntity book : books) {
+            blackhole.consume(bookMapper.mapTo(book));
+        }
+    }
+
+    @Benchmark
+    public void modelMapperMapTo(Blackhole blackhole) {
+        for (BookEntity book : books) {
+            blackhole.consume(modelMapper.map(book, BookDto.class));
+        }
+    }
+
+    @Benchmark
+    public void bookMapperMapFrom(Blackhole blackhole) {
+        for (BookDto bookDto : bookDtos) {
+            blackhole.consume(bookMapper.mapFrom(bookDto));
+        }
+    }
+
+    @Benchmark
+    public void modelMapperMapFrom(Blackhole blackhole) {
+        for (BookDto bookDto : bookDtos) {
+            blackhole.consume(modelMapper.map(bookDto, BookEntity.class));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.sillydev.quickstart.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.mappers.impl.AuthorMapper;
+import com.sillydev.quickstart.mappers.impl.BookMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+
+    private Page<BookDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        BookMapper bookMapper = new BookMapper(new AuthorMapper());
+        page = new PageImpl<>(
+                BenchmarkData.createBooks(pageSize).stream().map(bookMapper::mapTo).toList(),
+                PageRequest.of(0, pageSize),
+                100_000
+        );
+    }
+
+    @Benchmark
+    public byte[] serializeBookPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
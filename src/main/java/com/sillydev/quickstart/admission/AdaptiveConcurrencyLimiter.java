@@ -0,0 +1,154 @@
+package com.sillydev.quickstart.admission;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition permitAvailable = lock.newCondition();
+
+    private int minLimit;
+
+    private int maxLimit;
+
+    private int queueSize;
+
+    private long maxWaitNanos;
+
+    private long targetLatencyNanos;
+
+    private double estimatedLimit;
+
+    private int inFlight;
+
+    private int waiting;
+
+    private long rejected;
+
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(
+            int minLimit,
+            int maxLimit,
+            int queueSize,
+            Duration maxWait,
+            Duration targetLatency
+    ) {
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.maxLimit = maxLimit;
+        this.queueSize = queueSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.estimatedLimit = maxLimit;
+        this.lastBackoffNanos = System.nanoTime();
+    }
+
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < limit()) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= queueSize) {
+                rejected++;
+                return false;
+            }
+            waiting++;
+            try {
+                long remainingNanos = maxWaitNanos;
+                while (inFlight >= limit()) {
+                    if (remainingNanos <= 0) {
+                        rejected++;
+                        return false;
+                    }
+                    remainingNanos = permitAvailable.awaitNanos(remainingNanos);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected++;
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            adapt(latencyNanos);
+            int freePermits = limit() - inFlight;
+            for (int i = 0; i < freePermits && waiting > 0; i++) {
+                permitAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adapt(long latencyNanos) {
+        if (targetLatencyNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (latencyNanos > targetLatencyNanos) {
+            if (now - lastBackoffNanos >= targetLatencyNanos) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+                lastBackoffNanos = now;
+            }
+        } else if (inFlight + 1 >= limit() / 2) {
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + 1.0 / limit());
+        }
+    }
+
+    private int limit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sillydev.quickstart.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.util.Set;
+
+public enum RouteClass {
+    READ,
+    WRITE,
+    BULK;
+
+    private static final Set<String> BULK_PATHS = Set.of("/books/import", "/books/export", "/authors/batch");
+
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if (BULK_PATHS.contains(path) || (HttpMethod.PUT.matches(method) && "/books".equals(path))) {
+            return BULK;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return BULK;
+        }
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
@@ -0,0 +1,75 @@
+package com.sillydev.quickstart.concurrent;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private long maxWaitNanos;
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return inFlight.await(key, maxWaitNanos);
+        }
+        try {
+            V value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    public int waiters(K key) {
+        Flight<V> flight = flights.get(key);
+        return flight == null ? 0 : flight.waiters.get();
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        V await(Object key, long maxWaitNanos) {
+            waiters.incrementAndGet();
+            try {
+                return result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new QueryTimeoutException("Timed out waiting for the in-flight lookup of " + key, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new QueryTimeoutException("Interrupted waiting for the in-flight lookup of " + key, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+    }
+}
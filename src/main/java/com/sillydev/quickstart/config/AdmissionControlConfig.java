@@ -0,0 +1,69 @@
+package com.sillydev.quickstart.config;
+
+import com.sillydev.quickstart.admission.AdaptiveConcurrencyLimiter;
+import com.sillydev.quickstart.admission.AdmissionControlFilter;
+import com.sillydev.quickstart.admission.RouteClass;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "books.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            MeterRegistry meterRegistry,
+            @Value("${books.admission.max-wait-ms:200}") long maxWaitMillis,
+            @Value("${books.admission.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${books.admission.reads.max-limit:200}") int readLimit,
+            @Value("${books.admission.reads.queue-size:200}") int readQueueSize,
+            @Value("${books.admission.reads.target-latency-ms:100}") long readTargetLatencyMillis,
+            @Value("${books.admission.writes.max-limit:50}") int writeLimit,
+            @Value("${books.admission.writes.queue-size:50}") int writeQueueSize,
+            @Value("${books.admission.writes.target-latency-ms:250}") long writeTargetLatencyMillis,
+            @Value("${books.admission.bulk.max-limit:2}") int bulkLimit,
+            @Value("${books.admission.bulk.queue-size:2}") int bulkQueueSize
+    ) {
+        Duration maxWait = Duration.ofMillis(maxWaitMillis);
+        Map<RouteClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(RouteClass.class);
+        limiters.put(RouteClass.READ, new AdaptiveConcurrencyLimiter(
+                readLimit / 10, readLimit, readQueueSize, maxWait, Duration.ofMillis(readTargetLatencyMillis)));
+        limiters.put(RouteClass.WRITE, new AdaptiveConcurrencyLimiter(
+                writeLimit / 10, writeLimit, writeQueueSize, maxWait, Duration.ofMillis(writeTargetLatencyMillis)));
+        limiters.put(RouteClass.BULK, new AdaptiveConcurrencyLimiter(
+                bulkLimit, bulkLimit, bulkQueueSize, maxWait, Duration.ZERO));
+        limiters.forEach((routeClass, limiter) -> registerMetrics(meterRegistry, routeClass, limiter));
+
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(limiters, retryAfterSeconds));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static void registerMetrics(MeterRegistry meterRegistry, RouteClass routeClass, AdaptiveConcurrencyLimiter limiter) {
+        String pool = routeClass.name().toLowerCase();
+        Gauge.builder("books.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("books.admission.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("books.admission.queued", limiter, AdaptiveConcurrencyLimiter::getWaiting)
+                .tag("pool", pool)
+                .register(meterRegistry);
+        FunctionCounter.builder("books.admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sillydev.quickstart.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS_CACHE = "books";
+
+    public static final String AUTHORS_CACHE = "authors";
+
+}
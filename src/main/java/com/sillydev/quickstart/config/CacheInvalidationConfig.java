@@ -0,0 +1,25 @@
+package com.sillydev.quickstart.config;
+
+import com.sillydev.quickstart.invalidation.CacheInvalidationBus;
+import com.sillydev.quickstart.invalidation.InMemoryCacheInvalidationBus;
+import com.sillydev.quickstart.invalidation.PostgresCacheInvalidationBus;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            DatabasePlatform databasePlatform,
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties
+    ) {
+        if (databasePlatform.isPostgres()) {
+            return new PostgresCacheInvalidationBus(jdbcTemplate, dataSourceProperties);
+        }
+        return new InMemoryCacheInvalidationBus();
+    }
+}
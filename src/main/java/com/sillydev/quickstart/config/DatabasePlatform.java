@@ -0,0 +1,22 @@
+package com.sillydev.quickstart.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DatabasePlatform {
+
+    private boolean postgres;
+
+    public DatabasePlatform(EntityManagerFactory entityManagerFactory) {
+        this.postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sillydev.quickstart.config;
+
+import com.sillydev.quickstart.repositories.BookRepository;
+import com.sillydev.quickstart.search.BookSearchIndex;
+import com.sillydev.quickstart.search.InMemoryBookSearchIndex;
+import com.sillydev.quickstart.search.PostgresBookSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public BookSearchIndex bookSearchIndex(
+            DatabasePlatform databasePlatform,
+            EntityManager entityManager,
+            BookRepository bookRepository
+    ) {
+        if (databasePlatform.isPostgres()) {
+            return new PostgresBookSearchIndex(entityManager, bookRepository);
+        }
+        return new InMemoryBookSearchIndex(bookRepository);
+    }
+}
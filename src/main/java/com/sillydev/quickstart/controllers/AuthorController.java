@@ -1,13 +1,28 @@
 package com.sillydev.quickstart.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.sillydev.quickstart.domain.dto.AuthorDto;
+import com.sillydev.quickstart.domain.dto.AuthorWithBooksDto;
+import com.sillydev.quickstart.domain.dto.BookDto;
 import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
 import com.sillydev.quickstart.mappers.Mapper;
 import com.sillydev.quickstart.services.AuthorService;
+import com.sillydev.quickstart.services.BookService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -19,9 +34,24 @@ public class AuthorController {
 
     private Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+    private BookService bookService;
+
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    private ObjectMapper objectMapper;
+
+    public AuthorController(
+            AuthorService authorService,
+            Mapper<AuthorEntity, AuthorDto> authorMapper,
+            BookService bookService,
+            Mapper<BookEntity, BookDto> bookMapper,
+            ObjectMapper objectMapper
+    ) {
         this.authorService = authorService;
         this.authorMapper = authorMapper;
+        this.bookService = bookService;
+        this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping( path = "/authors")
@@ -31,6 +61,17 @@ public class AuthorController {
         return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity),HttpStatus.CREATED);
     }
 
+    @PostMapping(path = "/authors/batch")
+    public ResponseEntity<List<AuthorDto>> createAuthors(@RequestBody List<AuthorDto> authorDtos) {
+        List<AuthorEntity> authorEntities = authorDtos.stream()
+                .map(authorMapper::mapFrom)
+                .collect(Collectors.toList());
+        List<AuthorDto> savedAuthors = authorService.createAuthors(authorEntities).stream()
+                .map(authorMapper::mapTo)
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(savedAuthors, HttpStatus.CREATED);
+    }
+
     @GetMapping("/authors")
     public List<AuthorDto> getAuthors() {
         List<AuthorEntity> authors = authorService.getAllAuthors();
@@ -39,44 +80,123 @@ public class AuthorController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping(path = "/authors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAuthors() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(AuthorDto.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                authorService.streamAuthors(authorEntity -> {
+                    try {
+                        writer.write(authorMapper.mapTo(authorEntity));
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(path = "/authors", params = "minAge")
+    public Page<AuthorDto> getAuthorsByMinAge(
+            @RequestParam("minAge") Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge,
+            @PageableDefault(sort = {"age", "id"}) Pageable pageable
+    ) {
+        return authorService.findByAgeRange(minAge, maxAge, pageable).map(authorMapper::mapTo);
+    }
+
+    @GetMapping(path = "/authors", params = {"maxAge", "!minAge"})
+    public Page<AuthorDto> getAuthorsByMaxAge(
+            @RequestParam("maxAge") Integer maxAge,
+            @PageableDefault(sort = {"age", "id"}) Pageable pageable
+    ) {
+        return authorService.findByAgeRange(null, maxAge, pageable).map(authorMapper::mapTo);
+    }
+
     @GetMapping("/authors/{id}")
-    public ResponseEntity<AuthorDto> getAuthor(@PathVariable Long id) {
+    public ResponseEntity<AuthorDto> getAuthor(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> versionTag = authorService.getAuthorVersionTag(id);
+            if (versionTag.isPresent() && webRequest.checkNotModified(versionTag.get())) {
+                return null;
+            }
+        }
         Optional<AuthorEntity> author = authorService.getAuthor(id);
         return author.map(authorEntity -> {
             AuthorDto authorDto = authorMapper.mapTo(authorEntity);
-            return new ResponseEntity<>(authorDto, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(authorService.versionTag(authorEntity)).body(authorDto);
         }).orElse( new ResponseEntity<>(HttpStatus.NOT_FOUND) );
     }
 
+    @GetMapping(path = "/authors/{id}", params = "include=books")
+    public ResponseEntity<AuthorWithBooksDto> getAuthorWithBooks(@PathVariable Long id) {
+        return authorService.getAuthorWithBooks(id)
+                .map(authorWithBooks -> {
+                    AuthorEntity authorEntity = authorWithBooks.getAuthor();
+                    List<BookDto> books = authorWithBooks.getBooks().stream()
+                            .map(bookEntity -> {
+                                BookDto bookDto = bookMapper.mapTo(bookEntity);
+                                bookDto.setAuthor(null);
+                                return bookDto;
+                            })
+                            .collect(Collectors.toList());
+                    AuthorWithBooksDto authorWithBooksDto = AuthorWithBooksDto.builder()
+                            .id(authorEntity.getId())
+                            .name(authorEntity.getName())
+                            .age(authorEntity.getAge())
+                            .books(books)
+                            .build();
+                    return new ResponseEntity<>(authorWithBooksDto, HttpStatus.OK);
+                })
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/authors/{id}/books")
+    public ResponseEntity<Page<BookDto>> getAuthorBooks(
+            @PathVariable Long id,
+            @PageableDefault(sort = "isbn") Pageable pageable
+    ) {
+        Page<BookEntity> books = bookService.findByAuthor(id, pageable);
+        if (books.isEmpty() && !authorService.isExists(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(books.map(bookMapper::mapTo), HttpStatus.OK);
+    }
+
     @PutMapping("/authors/{id}")
     public ResponseEntity<AuthorDto> updateAuthor(
             @PathVariable Long id,
-            @RequestBody AuthorDto authorDto
+            @RequestBody AuthorDto authorDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (!authorService.isExists(id)) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
         authorDto.setId(id);
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity updateAuthorEntity = authorService.save(authorEntity);
-        return new ResponseEntity<>(
-                authorMapper.mapTo(updateAuthorEntity),
-                HttpStatus.OK
-        );
+        AuthorEntity updateAuthorEntity = authorService.save(authorEntity, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(authorService.versionTag(updateAuthorEntity))
+                .body(authorMapper.mapTo(updateAuthorEntity));
     }
 
     @PatchMapping("/authors/{id}")
     public ResponseEntity<AuthorDto> patchAuthor(
             @PathVariable Long id,
-            @RequestBody AuthorDto authorDto
+            @RequestBody AuthorDto authorDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        if (!authorService.isExists(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity updateAuthor = authorService.partialUpdate(id, authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(updateAuthor), HttpStatus.OK);
+        return authorService.partialUpdate(id, authorEntity, ETags.parseIfMatch(ifMatch))
+                .map(updateAuthor -> ResponseEntity.ok()
+                        .eTag(authorService.versionTag(updateAuthor))
+                        .body(authorMapper.mapTo(updateAuthor)))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @DeleteMapping("/authors/{id}")
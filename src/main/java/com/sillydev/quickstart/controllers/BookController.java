@@ -1,42 +1,82 @@
 package com.sillydev.quickstart.controllers;
 
 import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.domain.dto.CursorPageDto;
+import com.sillydev.quickstart.domain.dto.WriteQueueStatusDto;
+import com.sillydev.quickstart.domain.dto.WriteResult;
+import com.sillydev.quickstart.domain.dto.WriteStatus;
 import com.sillydev.quickstart.domain.entities.BookEntity;
 import com.sillydev.quickstart.mappers.Mapper;
 import com.sillydev.quickstart.services.BookService;
+import com.sillydev.quickstart.services.BookWriteQueue;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
 public class BookController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private BookService bookService;
 
     private Mapper<BookEntity, BookDto> bookMapper;
 
-    public BookController(BookService bookService, Mapper<BookEntity, BookDto> bookMapper) {
+    private BookWriteQueue bookWriteQueue;
+
+    public BookController(
+            BookService bookService,
+            Mapper<BookEntity, BookDto> bookMapper,
+            ObjectProvider<BookWriteQueue> bookWriteQueue
+    ) {
         this.bookService = bookService;
         this.bookMapper = bookMapper;
+        this.bookWriteQueue = bookWriteQueue.getIfAvailable();
     }
 
     @PutMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> createUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto) {
+    public ResponseEntity<BookDto> createUpdateBook(
+            @PathVariable("isbn") String isbn,
+            @RequestBody BookDto bookDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
         BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        boolean bookExists = bookService.isExists(isbn);
-        BookEntity savedBookEntity = bookService.createUpdateBook(isbn, bookEntity);
-        BookDto savedUpdatedBookDto = bookMapper.mapTo(savedBookEntity);
-        if(bookExists) {
-            return new ResponseEntity<>(savedUpdatedBookDto, HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(savedUpdatedBookDto, HttpStatus.CREATED);
+        if (bookWriteQueue != null && ifMatch == null) {
+            if (!bookWriteQueue.offer(isbn, bookEntity)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build();
+            }
+            return new ResponseEntity<>(HttpStatus.ACCEPTED);
+        }
+        WriteResult<BookEntity> result = bookService.createUpdateBook(isbn, bookEntity, ETags.parseIfMatch(ifMatch));
+        BookDto savedUpdatedBookDto = bookMapper.mapTo(result.getEntity());
+        return ResponseEntity.status(result.getStatus() == WriteStatus.CREATED ? HttpStatus.CREATED : HttpStatus.OK)
+                .eTag(bookService.versionTag(result.getEntity()))
+                .body(savedUpdatedBookDto);
+    }
+
+    @PutMapping(path = "/books")
+    public ResponseEntity<Map<String, WriteStatus>> createUpdateBooks(@RequestBody List<BookDto> bookDtos) {
+        if (bookDtos.stream().anyMatch(bookDto -> bookDto.getIsbn() == null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+        List<BookEntity> bookEntities = bookDtos.stream()
+                .map(bookMapper::mapFrom)
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(bookService.createUpdateBooks(bookEntities), HttpStatus.OK);
     }
 
     @GetMapping("/books")
@@ -48,27 +88,82 @@ public class BookController {
         return books.map(bookMapper::mapTo);
     }
 
+    @GetMapping(path = "/books", params = "after")
+    public ResponseEntity<CursorPageDto<BookDto>> getBooksAfter(
+            @RequestParam("after") String after,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        String afterIsbn;
+        try {
+            afterIsbn = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<BookEntity> books = bookService.findAfter(afterIsbn, size + 1);
+        List<BookDto> content = books.stream()
+                .limit(size)
+                .map(bookMapper::mapTo)
+                .collect(Collectors.toList());
+        String next = null;
+        if (books.size() > size) {
+            String lastIsbn = content.get(content.size() - 1).getIsbn();
+            next = Base64.getUrlEncoder().withoutPadding().encodeToString(lastIsbn.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ResponseEntity<>(new CursorPageDto<>(content, next), HttpStatus.OK);
+    }
+
+    @GetMapping("/books/write-queue")
+    public ResponseEntity<WriteQueueStatusDto> getWriteQueueStatus() {
+        if (bookWriteQueue == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(bookWriteQueue.status(), HttpStatus.OK);
+    }
+
+    @GetMapping("/books/search")
+    public ResponseEntity<Page<BookDto>> searchBooks(
+            @RequestParam("q") String query,
+            @RequestParam(value = "author", defaultValue = "false") boolean includeAuthor,
+            Pageable pageable
+    ) {
+        if (query.isBlank()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Page<BookEntity> books = bookService.search(query, includeAuthor, pageable);
+        return new ResponseEntity<>(books.map(bookMapper::mapTo), HttpStatus.OK);
+    }
+
     @GetMapping("/books/{isbn}")
-    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn) {
+    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> versionTag = bookService.getBookVersionTag(isbn);
+            if (versionTag.isPresent() && webRequest.checkNotModified(versionTag.get())) {
+                return null;
+            }
+        }
         Optional<BookEntity> book = bookService.getBook(isbn);
         return book.map(bookEntity -> {
             BookDto bookdto = bookMapper.mapTo(bookEntity);
-            return new ResponseEntity<>(bookdto, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(bookService.versionTag(bookEntity)).body(bookdto);
         }).orElse( new ResponseEntity<>(HttpStatus.NOT_FOUND) );
     }
 
     @PatchMapping("/books/{isbn}")
     public ResponseEntity<BookDto> patchBook(
             @PathVariable("isbn") String isbn,
-            @RequestBody BookDto bookDto
+            @RequestBody BookDto bookDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        if (!bookService.isExists(isbn)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
         BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        BookEntity updatedBookEntity = bookService.partialUpdate(isbn, bookEntity);
-        return new ResponseEntity<>(bookMapper.mapTo(updatedBookEntity), HttpStatus.OK);
-
+        return bookService.partialUpdate(isbn, bookEntity, ETags.parseIfMatch(ifMatch))
+                .map(updatedBookEntity -> ResponseEntity.ok()
+                        .eTag(bookService.versionTag(updatedBookEntity))
+                        .body(bookMapper.mapTo(updatedBookEntity)))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @DeleteMapping("/books/{isbn}")
@@ -0,0 +1,60 @@
+package com.sillydev.quickstart.controllers;
+
+import com.sillydev.quickstart.exports.ExportFormat;
+import com.sillydev.quickstart.services.BookExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+public class BookExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private BookExportService bookExportService;
+
+    public BookExportController(BookExportService bookExportService) {
+        this.bookExportService = bookExportService;
+    }
+
+    @GetMapping("/books/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                bookExportService.exportBooks(exportFormat, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                bookExportService.exportBooks(exportFormat, outputStream);
+            }
+        };
+
+        String filename = "books." + format.toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,64 @@
+package com.sillydev.quickstart.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sillydev.quickstart.domain.dto.ImportEventDto;
+import com.sillydev.quickstart.imports.ImportFormat;
+import com.sillydev.quickstart.services.BookImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+@RestController
+public class BookImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private BookImportService bookImportService;
+
+    private ObjectMapper objectMapper;
+
+    public BookImportController(BookImportService bookImportService, ObjectMapper objectMapper) {
+        this.bookImportService = bookImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(
+            path = "/books/import",
+            consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        ImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        StreamingResponseBody events = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(ImportEventDto.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                bookImportService.importBooks(body, format, event -> {
+                    try {
+                        writer.write(event);
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(events);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sillydev.quickstart.controllers;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String parseIfMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,6 @@
+package com.sillydev.quickstart.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,22 @@
+package com.sillydev.quickstart.domain.dto;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuthorWithBooks {
+
+    private AuthorEntity author;
+
+    private List<BookEntity> books;
+
+}
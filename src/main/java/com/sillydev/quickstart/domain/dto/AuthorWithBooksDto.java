@@ -0,0 +1,24 @@
+package com.sillydev.quickstart.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorWithBooksDto {
+
+    private Long id;
+
+    private String name;
+
+    private Integer age;
+
+    private List<BookDto> books;
+
+}
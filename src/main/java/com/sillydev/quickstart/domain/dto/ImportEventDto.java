@@ -0,0 +1,36 @@
+package com.sillydev.quickstart.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEventDto {
+
+    private Type type;
+
+    private Long line;
+
+    private String message;
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsFailed;
+
+    private Long durationMillis;
+
+    public enum Type {
+        PROGRESS,
+        ERROR,
+        COMPLETED
+    }
+
+}
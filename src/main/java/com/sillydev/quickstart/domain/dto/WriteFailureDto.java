@@ -0,0 +1,22 @@
+package com.sillydev.quickstart.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WriteFailureDto {
+
+    private String isbn;
+
+    private String error;
+
+    private Instant failedAt;
+
+}
@@ -0,0 +1,41 @@
+package com.sillydev.quickstart.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WriteQueueStatusDto {
+
+    private int depth;
+
+    private int capacity;
+
+    private long oldestPendingMillis;
+
+    private long lastCommitLagMillis;
+
+    private Instant lastCommitAt;
+
+    private long committedWrites;
+
+    private long coalescedWrites;
+
+    private long rejectedWrites;
+
+    private long failedWrites;
+
+    private long batches;
+
+    private long retriedBatches;
+
+    private List<WriteFailureDto> recentFailures;
+
+}
@@ -0,0 +1,18 @@
+package com.sillydev.quickstart.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WriteResult<T> {
+
+    private T entity;
+
+    private WriteStatus status;
+
+}
@@ -0,0 +1,9 @@
+package com.sillydev.quickstart.domain.dto;
+
+public enum WriteStatus {
+
+    CREATED,
+
+    UPDATED
+
+}
@@ -4,22 +4,33 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_age", columnList = "age"),
+        @Index(name = "idx_authors_name", columnList = "name")
+})
 public class AuthorEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_seq")
+    @SequenceGenerator(name = "author_id_seq", sequenceName = "author_id_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
     private Integer age;
 
+    @Version
+    @ColumnDefault("0")
+    @EqualsAndHashCode.Exclude
+    private long version;
+
 }
@@ -2,13 +2,14 @@ package com.sillydev.quickstart.domain.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = @Index(name = "idx_books_author_id", columnList = "author_id"))
 public class BookEntity {
 
     @Id
@@ -20,4 +21,9 @@ public class BookEntity {
     @JoinColumn(name = "author_id")
     private AuthorEntity authorEntity;
 
+    @Version
+    @ColumnDefault("0")
+    @EqualsAndHashCode.Exclude
+    private long version;
+
 }
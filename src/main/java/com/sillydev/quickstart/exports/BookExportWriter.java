@@ -0,0 +1,10 @@
+package com.sillydev.quickstart.exports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface BookExportWriter extends Closeable {
+
+    void writeBook(String isbn, String title, Long authorId, String authorName, Integer authorAge) throws IOException;
+
+}
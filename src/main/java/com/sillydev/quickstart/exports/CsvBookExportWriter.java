@@ -0,0 +1,57 @@
+package com.sillydev.quickstart.exports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class CsvBookExportWriter implements BookExportWriter {
+
+    private static final String HEADER = "isbn,title,author_id,author_name,author_age\n";
+
+    private Writer writer;
+
+    public CsvBookExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.writer.write(HEADER);
+    }
+
+    @Override
+    public void writeBook(String isbn, String title, Long authorId, String authorName, Integer authorAge)
+            throws IOException {
+        writeValue(isbn);
+        writer.write(',');
+        writeValue(title);
+        writer.write(',');
+        if (authorId != null) {
+            writer.write(authorId.toString());
+        }
+        writer.write(',');
+        writeValue(authorName);
+        writer.write(',');
+        if (authorAge != null) {
+            writer.write(authorAge.toString());
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,6 @@
+package com.sillydev.quickstart.exports;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
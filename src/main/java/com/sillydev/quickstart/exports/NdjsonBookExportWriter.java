@@ -0,0 +1,52 @@
+package com.sillydev.quickstart.exports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class NdjsonBookExportWriter implements BookExportWriter {
+
+    private JsonGenerator generator;
+
+    private boolean empty = true;
+
+    public NdjsonBookExportWriter(JsonFactory jsonFactory, OutputStream outputStream) throws IOException {
+        this.generator = jsonFactory.createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void writeBook(String isbn, String title, Long authorId, String authorName, Integer authorAge)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("isbn", isbn);
+        generator.writeStringField("title", title);
+        if (authorId == null) {
+            generator.writeNullField("author");
+        } else {
+            generator.writeObjectFieldStart("author");
+            generator.writeNumberField("id", authorId);
+            generator.writeStringField("name", authorName);
+            if (authorAge == null) {
+                generator.writeNullField("age");
+            } else {
+                generator.writeNumberField("age", authorAge);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
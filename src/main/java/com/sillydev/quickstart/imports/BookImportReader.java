@@ -0,0 +1,194 @@
+package com.sillydev.quickstart.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.domain.dto.AuthorDto;
+import com.sillydev.quickstart.domain.dto.BookDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class BookImportReader {
+
+    private static final List<String> CSV_COLUMNS = List.of("isbn", "title", "author_name", "author_age");
+
+    private static final int MAX_RECORD_LINES = 100;
+
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private BufferedReader reader;
+
+    private ImportFormat format;
+
+    private ObjectMapper objectMapper;
+
+    private Map<String, Integer> csvColumns;
+
+    private long line;
+
+    public BookImportReader(InputStream input, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    public ImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        long recordLine = line;
+        if (format == ImportFormat.CSV) {
+            text = readQuotedContinuation(text);
+            if (text == null && csvColumns == null) {
+                throw new IOException("CSV header has an unterminated quoted value");
+            }
+            if (text == null) {
+                return new ImportRow(recordLine, null, "unterminated quoted value");
+            }
+        }
+
+        if (format == ImportFormat.CSV && csvColumns == null) {
+            return readCsvHeader(text);
+        }
+        try {
+            BookDto book = format == ImportFormat.CSV ? parseCsv(text) : objectMapper.readValue(text, BookDto.class);
+            if (book.getIsbn() == null || book.getIsbn().isBlank()) {
+                return new ImportRow(recordLine, null, "isbn is required");
+            }
+            return new ImportRow(recordLine, book, null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(recordLine, null, e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(recordLine, null, e.getMessage());
+        }
+    }
+
+    private String readQuotedContinuation(String text) throws IOException {
+        int quotes = countQuotes(text);
+        if (quotes % 2 == 0) {
+            return text;
+        }
+
+        reader.mark(MAX_RECORD_LENGTH);
+        StringBuilder record = new StringBuilder(text);
+        int lines = 0;
+        long consumed = 0;
+        while (quotes % 2 != 0) {
+            String continuation = reader.readLine();
+            if (continuation == null) {
+                reader.reset();
+                return null;
+            }
+            lines++;
+            consumed += continuation.length() + 2;
+            record.append('\n').append(continuation);
+            quotes += countQuotes(continuation);
+            if (quotes % 2 != 0 && consumed > MAX_RECORD_LENGTH) {
+                line += lines;
+                return null;
+            }
+            if (quotes % 2 != 0 && lines == MAX_RECORD_LINES) {
+                reader.reset();
+                return null;
+            }
+        }
+        line += lines;
+        return record.toString();
+    }
+
+    private static int countQuotes(String text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    private ImportRow readCsvHeader(String text) throws IOException {
+        List<String> header = splitCsv(text);
+        csvColumns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            csvColumns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!csvColumns.containsKey("isbn")) {
+            throw new IOException("CSV header must contain the columns " + CSV_COLUMNS);
+        }
+        return next();
+    }
+
+    private BookDto parseCsv(String text) {
+        List<String> values = splitCsv(text);
+        String authorName = column(values, "author_name");
+        String authorAge = column(values, "author_age");
+        AuthorDto author = null;
+        if (authorName != null || authorAge != null) {
+            try {
+                author = AuthorDto.builder()
+                        .name(authorName)
+                        .age(authorAge == null ? null : Integer.valueOf(authorAge.trim()))
+                        .build();
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("author_age is not a number: " + authorAge);
+            }
+        }
+        return BookDto.builder()
+                .isbn(column(values, "isbn"))
+                .title(column(values, "title"))
+                .author(author)
+                .build();
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = csvColumns.get(name);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,6 @@
+package com.sillydev.quickstart.imports;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,10 @@
+package com.sillydev.quickstart.imports;
+
+import com.sillydev.quickstart.domain.dto.BookDto;
+
+public record ImportRow(long line, BookDto book, String error) {
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sillydev.quickstart.invalidation;
+
+import java.util.function.Consumer;
+
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidationEvent event);
+
+    void subscribe(Consumer<CacheInvalidationEvent> subscriber);
+
+}
@@ -0,0 +1,16 @@
+package com.sillydev.quickstart.invalidation;
+
+public record CacheInvalidationEvent(CachedEntity entity, String key) {
+
+    public static CacheInvalidationEvent of(CachedEntity entity, Object key) {
+        return new CacheInvalidationEvent(entity, String.valueOf(key));
+    }
+
+    public static CacheInvalidationEvent all(CachedEntity entity) {
+        return new CacheInvalidationEvent(entity, null);
+    }
+
+    public boolean isAll() {
+        return key == null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.sillydev.quickstart.invalidation;
+
+import com.sillydev.quickstart.config.CacheConfig;
+import com.sillydev.quickstart.services.AuthorIdentityCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheInvalidationListener {
+
+    private CacheManager cacheManager;
+
+    private AuthorIdentityCache authorIdentityCache;
+
+    public CacheInvalidationListener(
+            CacheInvalidationBus cacheInvalidationBus,
+            CacheManager cacheManager,
+            AuthorIdentityCache authorIdentityCache
+    ) {
+        this.cacheManager = cacheManager;
+        this.authorIdentityCache = authorIdentityCache;
+        cacheInvalidationBus.subscribe(this::evict);
+    }
+
+    void evict(CacheInvalidationEvent event) {
+        switch (event.entity()) {
+            case BOOK -> evict(CacheConfig.BOOKS_CACHE, event.isAll() ? null : event.key());
+            case AUTHOR -> {
+                Long id = event.isAll() ? null : Long.valueOf(event.key());
+                evict(CacheConfig.AUTHORS_CACHE, id);
+                if (id == null) {
+                    authorIdentityCache.evictAll();
+                } else {
+                    authorIdentityCache.evict(id);
+                }
+            }
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.sillydev.quickstart.invalidation;
+
+public enum CachedEntity {
+    BOOK,
+    AUTHOR
+}
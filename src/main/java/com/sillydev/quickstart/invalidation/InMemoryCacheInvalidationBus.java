@@ -0,0 +1,36 @@
+package com.sillydev.quickstart.invalidation;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<CacheInvalidationEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(event);
+                }
+            });
+            return;
+        }
+        deliver(event);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void deliver(CacheInvalidationEvent event) {
+        subscribers.forEach(subscriber -> subscriber.accept(event));
+    }
+}
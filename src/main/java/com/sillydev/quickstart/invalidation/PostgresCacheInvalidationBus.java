@@ -0,0 +1,143 @@
+package com.sillydev.quickstart.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Slf4j
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+
+    static final String CHANNEL = "books_cache_invalidation";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final List<Consumer<CacheInvalidationEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final String nodeId;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private DataSourceProperties dataSourceProperties;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties) {
+        this(jdbcTemplate, dataSourceProperties, UUID.randomUUID().toString());
+    }
+
+    PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties, String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) resultSet -> { },
+                CHANNEL, encode(nodeId, event));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.interrupt();
+        try {
+            listener.join(POLL_TIMEOUT_MILLIS * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    deliver(CacheInvalidationEvent.all(CachedEntity.BOOK));
+                    deliver(CacheInvalidationEvent.all(CachedEntity.AUTHOR));
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting", e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void receive(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3 || nodeId.equals(parts[1])) {
+            return;
+        }
+        try {
+            CachedEntity entity = CachedEntity.valueOf(parts[0]);
+            deliver(new CacheInvalidationEvent(entity, parts[2].isEmpty() ? null : parts[2]));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring cache invalidation {}", payload, e);
+        }
+    }
+
+    private void deliver(CacheInvalidationEvent event) {
+        subscribers.forEach(subscriber -> subscriber.accept(event));
+    }
+
+    static String encode(String nodeId, CacheInvalidationEvent event) {
+        return event.entity().name() + ":" + nodeId + ":" + (event.isAll() ? "" : event.key());
+    }
+}
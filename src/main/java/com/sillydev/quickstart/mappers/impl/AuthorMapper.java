@@ -3,26 +3,33 @@ package com.sillydev.quickstart.mappers.impl;
 import com.sillydev.quickstart.domain.dto.AuthorDto;
 import com.sillydev.quickstart.domain.entities.AuthorEntity;
 import com.sillydev.quickstart.mappers.Mapper;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AuthorMapper implements Mapper<AuthorEntity, AuthorDto> {
 
-    private ModelMapper modelMapper;
-
-    public AuthorMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
     @Override
     public AuthorDto mapTo(AuthorEntity authorEntity) {
-        return modelMapper.map(authorEntity, AuthorDto.class);
+        if (authorEntity == null) {
+            return null;
+        }
+        return AuthorDto.builder()
+                .id(authorEntity.getId())
+                .name(authorEntity.getName())
+                .age(authorEntity.getAge())
+                .build();
     }
 
     @Override
     public AuthorEntity mapFrom(AuthorDto authorDto) {
-        return modelMapper.map(authorDto, AuthorEntity.class);
+        if (authorDto == null) {
+            return null;
+        }
+        return AuthorEntity.builder()
+                .id(authorDto.getId())
+                .name(authorDto.getName())
+                .age(authorDto.getAge())
+                .build();
     }
 
 }
@@ -1,28 +1,42 @@
 package com.sillydev.quickstart.mappers.impl;
 
-import com.sillydev.quickstart.config.MapperConfig;
+import com.sillydev.quickstart.domain.dto.AuthorDto;
 import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
 import com.sillydev.quickstart.domain.entities.BookEntity;
 import com.sillydev.quickstart.mappers.Mapper;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class BookMapper implements Mapper<BookEntity, BookDto> {
 
-    private ModelMapper modelMapper;
+    private Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public BookMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public BookMapper(Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.authorMapper = authorMapper;
     }
 
     @Override
     public BookDto mapTo(BookEntity bookEntity) {
-        return modelMapper.map(bookEntity, BookDto.class);
+        if (bookEntity == null) {
+            return null;
+        }
+        return BookDto.builder()
+                .isbn(bookEntity.getIsbn())
+                .title(bookEntity.getTitle())
+                .author(authorMapper.mapTo(bookEntity.getAuthorEntity()))
+                .build();
     }
 
     @Override
     public BookEntity mapFrom(BookDto bookDto) {
-        return modelMapper.map(bookDto, BookEntity.class);
+        if (bookDto == null) {
+            return null;
+        }
+        return BookEntity.builder()
+                .isbn(bookDto.getIsbn())
+                .title(bookDto.getTitle())
+                .authorEntity(authorMapper.mapFrom(bookDto.getAuthor()))
+                .build();
     }
 }
@@ -0,0 +1,42 @@
+package com.sillydev.quickstart.metrics;
+
+import org.hibernate.SessionEventListener;
+
+public class JdbcStatementListener implements SessionEventListener {
+
+    private long statementStart;
+
+    private long batchStart;
+
+    private long acquisitionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestJdbcMetrics.recordAcquisition(System.nanoTime() - acquisitionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestJdbcMetrics.record(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestJdbcMetrics.record(System.nanoTime() - batchStart);
+    }
+}
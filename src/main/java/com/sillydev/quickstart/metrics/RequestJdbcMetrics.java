@@ -0,0 +1,60 @@
+package com.sillydev.quickstart.metrics;
+
+public final class RequestJdbcMetrics {
+    private RequestJdbcMetrics() {}
+
+    private static final ThreadLocal<Counters> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new Counters());
+    }
+
+    public static Counters stop() {
+        Counters counters = CURRENT.get();
+        CURRENT.remove();
+        return counters;
+    }
+
+    static void record(long nanos) {
+        Counters counters = CURRENT.get();
+        if (counters != null) {
+            counters.statements++;
+            counters.nanos += nanos;
+        }
+    }
+
+    static void recordAcquisition(long nanos) {
+        Counters counters = CURRENT.get();
+        if (counters != null) {
+            counters.acquisitions++;
+            counters.acquisitionNanos += nanos;
+        }
+    }
+
+    public static final class Counters {
+
+        private long statements;
+
+        private long nanos;
+
+        private long acquisitions;
+
+        private long acquisitionNanos;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        public long getAcquisitionNanos() {
+            return acquisitionNanos;
+        }
+    }
+}
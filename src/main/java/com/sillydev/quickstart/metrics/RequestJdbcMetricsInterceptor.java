@@ -0,0 +1,68 @@
+package com.sillydev.quickstart.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RequestJdbcMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private MeterRegistry meterRegistry;
+
+    public RequestJdbcMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestJdbcMetrics.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestJdbcMetrics.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestJdbcMetrics.Counters counters = RequestJdbcMetrics.stop();
+        if (counters == null) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", uri != null ? uri.toString() : "UNKNOWN",
+                "status", Integer.toString(response.getStatus())
+        );
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counters.getStatements());
+        Timer.builder("http.server.requests.jdbc.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counters.getNanos(), TimeUnit.NANOSECONDS);
+        if (counters.getAcquisitions() > 0) {
+            Timer.builder("http.server.requests.jdbc.connection.acquire")
+                    .description("Time spent acquiring JDBC connections per request")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(counters.getAcquisitionNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,15 +1,42 @@
 package com.sillydev.quickstart.repositories;
 
 import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface AuthorRepository extends CrudRepository<AuthorEntity, Long> {
+public interface AuthorRepository extends CrudRepository<AuthorEntity, Long>,
+        PagingAndSortingRepository<AuthorEntity, Long>, AuthorRepositoryCustom {
 
+    @Query("SELECT a from AuthorEntity a where a.age < ?1 ORDER BY a.id")
     Iterable<AuthorEntity> ageLessThan(int i);
 
     @Query("SELECT a from AuthorEntity a where a.age > ?1")
     Iterable<AuthorEntity> findAuthorsWithAgerGreaterThan(int i);
+
+    Page<AuthorEntity> findByAgeBetween(int minAge, int maxAge, Pageable pageable);
+
+    Page<AuthorEntity> findByAgeGreaterThanEqual(int minAge, Pageable pageable);
+
+    Page<AuthorEntity> findByAgeLessThanEqual(int maxAge, Pageable pageable);
+
+    @Query("SELECT a, b FROM AuthorEntity a LEFT JOIN BookEntity b ON b.authorEntity = a "
+            + "WHERE a.id = ?1 ORDER BY b.isbn")
+    List<Object[]> findWithBooksById(Long id);
+
+    @Query("SELECT a.version FROM AuthorEntity a WHERE a.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AuthorEntity a SET a.name = COALESCE(?2, a.name), a.age = COALESCE(?3, a.age), "
+            + "a.version = a.version + 1 WHERE a.id = ?1")
+    int updateNameAndAge(Long id, String name, Integer age);
 }
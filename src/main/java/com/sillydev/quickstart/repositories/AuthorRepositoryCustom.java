@@ -0,0 +1,11 @@
+package com.sillydev.quickstart.repositories;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+
+import java.util.Optional;
+
+public interface AuthorRepositoryCustom {
+
+    Optional<AuthorEntity> patchReturning(Long id, String name, Integer age);
+
+}
@@ -0,0 +1,51 @@
+package com.sillydev.quickstart.repositories;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    private EntityManager entityManager;
+
+    public AuthorRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<AuthorEntity> patchReturning(Long id, String name, Integer age) {
+        List<String> assignments = new ArrayList<>();
+        if (name != null) {
+            assignments.add("name = :name");
+        }
+        if (age != null) {
+            assignments.add("age = :age");
+        }
+        assignments.add("version = version + 1");
+
+        Query query = entityManager.createNativeQuery("UPDATE authors SET " + String.join(", ", assignments)
+                + " WHERE id = :id RETURNING id, name, age, version");
+        query.setParameter("id", id);
+        if (name != null) {
+            query.setParameter("name", name);
+        }
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+
+        List<?> rows = query.getResultList();
+        return rows.stream().findFirst().map(row -> {
+            Object[] columns = (Object[]) row;
+            return AuthorEntity.builder()
+                    .id(((Number) columns[0]).longValue())
+                    .name((String) columns[1])
+                    .age(columns[2] == null ? null : ((Number) columns[2]).intValue())
+                    .version(((Number) columns[3]).longValue())
+                    .build();
+        });
+    }
+}
@@ -1,11 +1,50 @@
 package com.sillydev.quickstart.repositories;
 
 import com.sillydev.quickstart.domain.entities.BookEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface BookRepository extends CrudRepository<BookEntity, String>,
-        PagingAndSortingRepository<BookEntity, String> {
+        PagingAndSortingRepository<BookEntity, String>, BookRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = "authorEntity")
+    Page<BookEntity> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "authorEntity")
+    List<BookEntity> findByIsbnGreaterThanOrderByIsbnAsc(String isbn, Limit limit);
+
+    @EntityGraph(attributePaths = "authorEntity")
+    List<BookEntity> findByIsbnIn(Collection<String> isbns);
+
+    @EntityGraph(attributePaths = "authorEntity")
+    Page<BookEntity> findByAuthorEntityId(Long authorId, Pageable pageable);
+
+    @Query("SELECT b.version AS bookVersion, a.version AS authorVersion "
+            + "FROM BookEntity b LEFT JOIN b.authorEntity a WHERE b.isbn = ?1")
+    Optional<Versions> findVersionsByIsbn(String isbn);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookEntity b SET b.title = ?2, b.version = b.version + 1 WHERE b.isbn = ?1")
+    int updateTitle(String isbn, String title);
+
+    interface Versions {
+
+        long getBookVersion();
+
+        Long getAuthorVersion();
+
+    }
 }
@@ -0,0 +1,14 @@
+package com.sillydev.quickstart.repositories;
+
+import com.sillydev.quickstart.domain.dto.WriteResult;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+
+import java.util.Optional;
+
+public interface BookRepositoryCustom {
+
+    WriteResult<BookEntity> upsert(BookEntity bookEntity);
+
+    Optional<BookEntity> patchTitleReturning(String isbn, String title);
+
+}
@@ -0,0 +1,69 @@
+package com.sillydev.quickstart.repositories;
+
+import com.sillydev.quickstart.domain.dto.WriteResult;
+import com.sillydev.quickstart.domain.dto.WriteStatus;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+import java.util.Optional;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final String UPSERT_SQL = "INSERT INTO books (isbn, title, author_id, version) "
+            + "VALUES (?1, ?2, ?3, 0) "
+            + "ON CONFLICT (isbn) DO UPDATE SET title = EXCLUDED.title, author_id = EXCLUDED.author_id, "
+            + "version = books.version + 1 "
+            + "RETURNING (xmax = 0) AS inserted, version";
+
+    private static final String PATCH_TITLE_SQL = "WITH updated AS ("
+            + "UPDATE books SET title = ?2, version = version + 1 WHERE isbn = ?1 "
+            + "RETURNING isbn, title, author_id, version) "
+            + "SELECT u.isbn, u.title, u.version, a.id, a.name, a.age, a.version "
+            + "FROM updated u LEFT JOIN authors a ON a.id = u.author_id";
+
+    private EntityManager entityManager;
+
+    public BookRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public WriteResult<BookEntity> upsert(BookEntity bookEntity) {
+        Long authorId = bookEntity.getAuthorEntity() == null ? null : bookEntity.getAuthorEntity().getId();
+        Object[] row = (Object[]) entityManager.createNativeQuery(UPSERT_SQL)
+                .setParameter(1, bookEntity.getIsbn())
+                .setParameter(2, new TypedParameterValue<>(StandardBasicTypes.STRING, bookEntity.getTitle()))
+                .setParameter(3, new TypedParameterValue<>(StandardBasicTypes.LONG, authorId))
+                .getSingleResult();
+        bookEntity.setVersion(((Number) row[1]).longValue());
+        WriteStatus status = Boolean.TRUE.equals(row[0]) ? WriteStatus.CREATED : WriteStatus.UPDATED;
+        return new WriteResult<>(bookEntity, status);
+    }
+
+    @Override
+    public Optional<BookEntity> patchTitleReturning(String isbn, String title) {
+        List<?> rows = entityManager.createNativeQuery(PATCH_TITLE_SQL)
+                .setParameter(1, isbn)
+                .setParameter(2, title)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> {
+            Object[] columns = (Object[]) row;
+            AuthorEntity authorEntity = columns[3] == null ? null : AuthorEntity.builder()
+                    .id(((Number) columns[3]).longValue())
+                    .name((String) columns[4])
+                    .age(columns[5] == null ? null : ((Number) columns[5]).intValue())
+                    .version(((Number) columns[6]).longValue())
+                    .build();
+            return BookEntity.builder()
+                    .isbn((String) columns[0])
+                    .title((String) columns[1])
+                    .version(((Number) columns[2]).longValue())
+                    .authorEntity(authorEntity)
+                    .build();
+        });
+    }
+}
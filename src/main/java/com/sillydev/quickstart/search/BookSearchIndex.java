@@ -0,0 +1,20 @@
+package com.sillydev.quickstart.search;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface BookSearchIndex {
+
+    Page<BookEntity> search(String query, boolean includeAuthor, Pageable pageable);
+
+    void bookSaved(BookEntity bookEntity);
+
+    void bookDeleted(String isbn);
+
+    void authorSaved(AuthorEntity authorEntity);
+
+    void authorDeleted(Long id);
+
+}
@@ -0,0 +1,248 @@
+package com.sillydev.quickstart.search;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.repositories.BookRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class InMemoryBookSearchIndex implements BookSearchIndex, SmartInitializingSingleton {
+
+    private static final int TITLE_WEIGHT = 2;
+
+    private static final int AUTHOR_WEIGHT = 1;
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Set<String>> titlePostings = new HashMap<>();
+
+    private final Map<String, Set<Long>> authorPostings = new HashMap<>();
+
+    private final Map<String, IndexedBook> books = new HashMap<>();
+
+    private final Map<Long, Set<String>> authorTerms = new HashMap<>();
+
+    private final Map<Long, Set<String>> booksByAuthor = new HashMap<>();
+
+    private BookRepository bookRepository;
+
+    public InMemoryBookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("isbn"));
+        Page<BookEntity> page;
+        do {
+            page = bookRepository.findAll(pageable);
+            page.forEach(this::indexBook);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+    }
+
+    @Override
+    public Page<BookEntity> search(String query, boolean includeAuthor, Pageable pageable) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        Map<String, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                Map<String, Integer> termScores = new HashMap<>();
+                titlePostings.getOrDefault(term, Set.of())
+                        .forEach(isbn -> termScores.merge(isbn, TITLE_WEIGHT, Math::max));
+                if (includeAuthor) {
+                    authorPostings.getOrDefault(term, Set.of()).forEach(authorId ->
+                            booksByAuthor.getOrDefault(authorId, Set.of())
+                                    .forEach(isbn -> termScores.merge(isbn, AUTHOR_WEIGHT, Math::max)));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((isbn, score) -> score + termScores.get(isbn));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Integer> rankedScores = scores;
+        List<String> ranked = rankedScores.keySet().stream()
+                .sorted(Comparator.comparing((String isbn) -> rankedScores.get(isbn)).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .collect(Collectors.toList());
+        if (pageable.getOffset() >= ranked.size()) {
+            return new PageImpl<>(List.of(), pageable, ranked.size());
+        }
+
+        List<String> isbns = ranked.subList((int) pageable.getOffset(),
+                (int) Math.min(pageable.getOffset() + pageable.getPageSize(), ranked.size()));
+        Map<String, Integer> positions = isbns.stream()
+                .collect(Collectors.toMap(Function.identity(), isbns::indexOf));
+        List<BookEntity> content = bookRepository.findByIsbnIn(isbns).stream()
+                .sorted(Comparator.comparing(bookEntity -> positions.get(bookEntity.getIsbn())))
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    @Override
+    public void bookSaved(BookEntity bookEntity) {
+        IndexedBook indexedBook = snapshot(bookEntity);
+        afterCommit(() -> indexBook(indexedBook));
+    }
+
+    @Override
+    public void bookDeleted(String isbn) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeBook(isbn);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void authorSaved(AuthorEntity authorEntity) {
+        Long authorId = authorEntity.getId();
+        String name = authorEntity.getName();
+        if (authorId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                indexAuthor(authorId, name);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void authorDeleted(Long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeAuthor(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void indexBook(BookEntity bookEntity) {
+        indexBook(snapshot(bookEntity));
+    }
+
+    private void indexBook(IndexedBook indexedBook) {
+        lock.writeLock().lock();
+        try {
+            removeBook(indexedBook.isbn());
+            books.put(indexedBook.isbn(), indexedBook);
+            indexedBook.titleTerms().forEach(term ->
+                    titlePostings.computeIfAbsent(term, key -> new HashSet<>()).add(indexedBook.isbn()));
+            if (indexedBook.authorId() != null) {
+                booksByAuthor.computeIfAbsent(indexedBook.authorId(), key -> new HashSet<>()).add(indexedBook.isbn());
+                indexAuthor(indexedBook.authorId(), indexedBook.authorName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static IndexedBook snapshot(BookEntity bookEntity) {
+        AuthorEntity authorEntity = bookEntity.getAuthorEntity();
+        return new IndexedBook(
+                bookEntity.getIsbn(),
+                tokenize(bookEntity.getTitle()),
+                authorEntity == null ? null : authorEntity.getId(),
+                authorEntity == null ? null : authorEntity.getName()
+        );
+    }
+
+    private void removeBook(String isbn) {
+        IndexedBook indexedBook = books.remove(isbn);
+        if (indexedBook == null) {
+            return;
+        }
+        indexedBook.titleTerms().forEach(term -> removePosting(titlePostings, term, isbn));
+        if (indexedBook.authorId() != null) {
+            removePosting(booksByAuthor, indexedBook.authorId(), isbn);
+        }
+    }
+
+    private void indexAuthor(Long authorId, String name) {
+        removeAuthor(authorId);
+        Set<String> terms = tokenize(name);
+        authorTerms.put(authorId, terms);
+        terms.forEach(term -> authorPostings.computeIfAbsent(term, key -> new HashSet<>()).add(authorId));
+    }
+
+    private void removeAuthor(Long authorId) {
+        Set<String> terms = authorTerms.remove(authorId);
+        if (terms != null) {
+            terms.forEach(term -> removePosting(authorPostings, term, authorId));
+        }
+    }
+
+    private static <K, V> void removePosting(Map<K, Set<V>> postings, K key, V value) {
+        Set<V> values = postings.get(key);
+        if (values != null && values.remove(value) && values.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private record IndexedBook(String isbn, Set<String> titleTerms, Long authorId, String authorName) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.sillydev.quickstart.search;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.repositories.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class PostgresBookSearchIndex implements BookSearchIndex {
+
+    private static final String TITLE_MATCHES_SQL = "SELECT b.isbn, "
+            + "ts_rank(to_tsvector('simple', coalesce(b.title, '')), q) AS rank "
+            + "FROM books b, plainto_tsquery('simple', :query) q "
+            + "WHERE to_tsvector('simple', coalesce(b.title, '')) @@ q";
+
+    private static final String TITLE_OR_AUTHOR_MATCHES_SQL = "SELECT b.isbn, ts_rank(d.document, q) AS rank "
+            + "FROM books b LEFT JOIN authors a ON a.id = b.author_id, plainto_tsquery('simple', :query) q, "
+            + "LATERAL (SELECT setweight(to_tsvector('simple', coalesce(b.title, '')), 'A') "
+            + "|| setweight(to_tsvector('simple', coalesce(a.name, '')), 'B') AS document) d "
+            + "WHERE d.document @@ q";
+
+    private EntityManager entityManager;
+
+    private BookRepository bookRepository;
+
+    public PostgresBookSearchIndex(EntityManager entityManager, BookRepository bookRepository) {
+        this.entityManager = entityManager;
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public Page<BookEntity> search(String query, boolean includeAuthor, Pageable pageable) {
+        String matches = includeAuthor ? TITLE_OR_AUTHOR_MATCHES_SQL : TITLE_MATCHES_SQL;
+
+        long total = ((Number) entityManager
+                .createNativeQuery("SELECT count(*) FROM (" + matches + ") r")
+                .setParameter("query", query)
+                .getSingleResult()).longValue();
+        if (total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> isbns = entityManager
+                .createNativeQuery("SELECT r.isbn FROM (" + matches + ") r ORDER BY r.rank DESC, r.isbn")
+                .setParameter("query", query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        Map<String, Integer> positions = isbns.stream()
+                .collect(Collectors.toMap(Function.identity(), isbns::indexOf));
+        List<BookEntity> content = bookRepository.findByIsbnIn(isbns).stream()
+                .sorted(Comparator.comparing(bookEntity -> positions.get(bookEntity.getIsbn())))
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public void bookSaved(BookEntity bookEntity) {
+    }
+
+    @Override
+    public void bookDeleted(String isbn) {
+    }
+
+    @Override
+    public void authorSaved(AuthorEntity authorEntity) {
+    }
+
+    @Override
+    public void authorDeleted(Long id) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.sillydev.quickstart.services;
+
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+
+import java.util.Optional;
+
+public interface AuthorIdentityCache {
+
+    Optional<AuthorEntity> findUnchanged(AuthorEntity requestedAuthor);
+
+    void recordUnchanged(AuthorEntity authorEntity);
+
+    void recordChanged(Long id);
+
+    void evict(Long id);
+
+    void evictAll();
+
+}
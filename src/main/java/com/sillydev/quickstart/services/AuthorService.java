@@ -1,21 +1,41 @@
 package com.sillydev.quickstart.services;
 
+import com.sillydev.quickstart.domain.dto.AuthorWithBooks;
 import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AuthorService {
 
     AuthorEntity save(AuthorEntity authorEntity);
 
+    AuthorEntity save(AuthorEntity authorEntity, String expectedVersionTag);
+
+    List<AuthorEntity> createAuthors(List<AuthorEntity> authorEntities);
+
     List<AuthorEntity> getAllAuthors();
 
+    void streamAuthors(Consumer<AuthorEntity> consumer);
+
+    Page<AuthorEntity> findByAgeRange(Integer minAge, Integer maxAge, Pageable pageable);
+
     Optional<AuthorEntity> getAuthor(Long id);
 
+    Optional<AuthorWithBooks> getAuthorWithBooks(Long id);
+
+    Optional<String> getAuthorVersionTag(Long id);
+
+    String versionTag(AuthorEntity authorEntity);
+
     boolean isExists(Long id);
 
-    AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity);
+    Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity);
+
+    Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity, String expectedVersionTag);
 
     void delete(Long id);
 }
@@ -0,0 +1,12 @@
+package com.sillydev.quickstart.services;
+
+import com.sillydev.quickstart.exports.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+
+    long exportBooks(ExportFormat format, OutputStream outputStream) throws IOException;
+
+}
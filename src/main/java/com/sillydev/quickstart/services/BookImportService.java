@@ -0,0 +1,15 @@
+package com.sillydev.quickstart.services;
+
+import com.sillydev.quickstart.domain.dto.ImportEventDto;
+import com.sillydev.quickstart.imports.ImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface BookImportService {
+
+    ImportEventDto importBooks(InputStream input, ImportFormat format, Consumer<ImportEventDto> listener)
+            throws IOException;
+
+}
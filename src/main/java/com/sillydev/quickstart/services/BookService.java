@@ -1,25 +1,45 @@
 package com.sillydev.quickstart.services;
 
+import com.sillydev.quickstart.domain.dto.WriteResult;
+import com.sillydev.quickstart.domain.dto.WriteStatus;
 import com.sillydev.quickstart.domain.entities.BookEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface BookService {
 
     BookEntity createUpdateBook(String isbn, BookEntity bookEntity);
 
+    WriteResult<BookEntity> createUpdateBook(String isbn, BookEntity bookEntity, String expectedVersionTag);
+
+    Map<String, WriteStatus> createUpdateBooks(Collection<BookEntity> bookEntities);
+
     List<BookEntity> getAllBooks();
 
     Page<BookEntity> findAll(Pageable pageable);
 
+    List<BookEntity> findAfter(String isbn, int limit);
+
+    Page<BookEntity> findByAuthor(Long authorId, Pageable pageable);
+
+    Page<BookEntity> search(String query, boolean includeAuthor, Pageable pageable);
+
     Optional<BookEntity> getBook(String isbn);
 
+    Optional<String> getBookVersionTag(String isbn);
+
+    String versionTag(BookEntity bookEntity);
+
     boolean isExists(String isbn);
 
-    BookEntity partialUpdate(String isbn, BookEntity bookEntity);
+    Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity);
+
+    Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity, String expectedVersionTag);
 
     void delete(String isbn);
 }
@@ -0,0 +1,12 @@
+package com.sillydev.quickstart.services;
+
+import com.sillydev.quickstart.domain.dto.WriteQueueStatusDto;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+
+public interface BookWriteQueue {
+
+    boolean offer(String isbn, BookEntity bookEntity);
+
+    WriteQueueStatusDto status();
+
+}
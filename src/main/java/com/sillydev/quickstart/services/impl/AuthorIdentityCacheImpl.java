@@ -0,0 +1,110 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.services.AuthorIdentityCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+public class AuthorIdentityCacheImpl implements AuthorIdentityCache {
+
+    private Cache<Long, AuthorEntity> authors;
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private Counter writesAvoided;
+
+    private Counter writes;
+
+    public AuthorIdentityCacheImpl(
+            MeterRegistry meterRegistry,
+            @Value("${authors.identity-cache.maximum-size:10000}") long maximumSize,
+            @Value("${authors.identity-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.authors = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.hits = Counter.builder("authors.identity_cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("authors.identity_cache.lookups").tag("result", "miss").register(meterRegistry);
+        this.writesAvoided = Counter.builder("authors.cascaded_writes").tag("outcome", "avoided").register(meterRegistry);
+        this.writes = Counter.builder("authors.cascaded_writes").tag("outcome", "written").register(meterRegistry);
+        Gauge.builder("authors.identity_cache.size", authors, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @Override
+    public Optional<AuthorEntity> findUnchanged(AuthorEntity requestedAuthor) {
+        if (requestedAuthor == null || requestedAuthor.getId() == null) {
+            return Optional.empty();
+        }
+        AuthorEntity cachedAuthor = authors.getIfPresent(requestedAuthor.getId());
+        if (cachedAuthor == null || !sameState(cachedAuthor, requestedAuthor)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        writesAvoided.increment();
+        return Optional.of(copy(cachedAuthor));
+    }
+
+    @Override
+    public void recordUnchanged(AuthorEntity authorEntity) {
+        writesAvoided.increment();
+        authors.put(authorEntity.getId(), copy(authorEntity));
+    }
+
+    @Override
+    public void recordChanged(Long id) {
+        writes.increment();
+        evict(id);
+    }
+
+    @Override
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        authors.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    authors.invalidate(id);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        authors.invalidateAll();
+    }
+
+    private static boolean sameState(AuthorEntity cachedAuthor, AuthorEntity requestedAuthor) {
+        return Objects.equals(cachedAuthor.getName(), requestedAuthor.getName())
+                && Objects.equals(cachedAuthor.getAge(), requestedAuthor.getAge());
+    }
+
+    private static AuthorEntity copy(AuthorEntity authorEntity) {
+        return AuthorEntity.builder()
+                .id(authorEntity.getId())
+                .name(authorEntity.getName())
+                .age(authorEntity.getAge())
+                .version(authorEntity.getVersion())
+                .build();
+    }
+
+}
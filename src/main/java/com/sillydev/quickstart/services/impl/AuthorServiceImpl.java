@@ -1,30 +1,143 @@
 package com.sillydev.quickstart.services.impl;
 
+import com.sillydev.quickstart.concurrent.SingleFlight;
+import com.sillydev.quickstart.config.CacheConfig;
+import com.sillydev.quickstart.config.DatabasePlatform;
+import com.sillydev.quickstart.datasource.ReadYourWrites;
+import com.sillydev.quickstart.domain.dto.AuthorWithBooks;
 import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.invalidation.CacheInvalidationBus;
+import com.sillydev.quickstart.invalidation.CacheInvalidationEvent;
+import com.sillydev.quickstart.invalidation.CachedEntity;
 import com.sillydev.quickstart.repositories.AuthorRepository;
+import com.sillydev.quickstart.search.BookSearchIndex;
+import com.sillydev.quickstart.services.AuthorIdentityCache;
 import com.sillydev.quickstart.services.AuthorService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 @Service
 public class AuthorServiceImpl implements AuthorService {
 
+    private static final int BATCH_CHUNK_SIZE = 1000;
+
     private AuthorRepository authorRepository;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    private EntityManager entityManager;
+
+    private DatabasePlatform databasePlatform;
+
+    private BookSearchIndex bookSearchIndex;
+
+    private AuthorIdentityCache authorIdentityCache;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private int streamFetchSize;
+
+    private SingleFlight<Long, Optional<AuthorEntity>> authorLookups;
+
+    public AuthorServiceImpl(
+            AuthorRepository authorRepository,
+            EntityManager entityManager,
+            DatabasePlatform databasePlatform,
+            BookSearchIndex bookSearchIndex,
+            AuthorIdentityCache authorIdentityCache,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${authors.stream.fetch-size:500}") int streamFetchSize,
+            @Value("${books.single-flight.max-wait-ms:2000}") long lookupMaxWaitMillis
+    ) {
         this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
+        this.databasePlatform = databasePlatform;
+        this.bookSearchIndex = bookSearchIndex;
+        this.authorIdentityCache = authorIdentityCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.streamFetchSize = streamFetchSize;
+        this.authorLookups = new SingleFlight<>(Duration.ofMillis(lookupMaxWaitMillis));
     }
 
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#authorEntity.id",
+                    condition = "#authorEntity.id != null"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
+    })
     public AuthorEntity save(AuthorEntity authorEntity) {
-        return authorRepository.save(authorEntity);
+        return save(authorEntity, null);
     }
 
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#authorEntity.id",
+                    condition = "#authorEntity.id != null"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
+    })
+    public AuthorEntity save(AuthorEntity authorEntity, String expectedVersionTag) {
+        authorIdentityCache.evict(authorEntity.getId());
+        AuthorEntity savedAuthor = write(authorEntity, expectedVersionTag);
+        publishAuthorChanged(savedAuthor.getId());
+        bookSearchIndex.authorSaved(savedAuthor);
+        return savedAuthor;
+    }
+
+    private AuthorEntity write(AuthorEntity authorEntity, String expectedVersionTag) {
+        if (authorEntity.getId() == null) {
+            return authorRepository.save(authorEntity);
+        }
+        Optional<AuthorEntity> existingAuthor = authorRepository.findById(authorEntity.getId());
+        checkVersionTag(existingAuthor, expectedVersionTag, authorEntity.getId());
+        return existingAuthor.map(author -> {
+            author.setName(authorEntity.getName());
+            author.setAge(authorEntity.getAge());
+            return author;
+        }).orElseThrow(() -> new RuntimeException("Author not found"));
+    }
+
+    private void publishAuthorChanged(Long id) {
+        cacheInvalidationBus.publish(CacheInvalidationEvent.of(CachedEntity.AUTHOR, id));
+        cacheInvalidationBus.publish(CacheInvalidationEvent.all(CachedEntity.BOOK));
+    }
+
+    @Override
+    @Transactional
+    public List<AuthorEntity> createAuthors(List<AuthorEntity> authorEntities) {
+        for (int from = 0; from < authorEntities.size(); from += BATCH_CHUNK_SIZE) {
+            List<AuthorEntity> chunk = authorEntities.subList(from, Math.min(from + BATCH_CHUNK_SIZE, authorEntities.size()));
+            for (AuthorEntity authorEntity : chunk) {
+                authorEntity.setId(null);
+                entityManager.persist(authorEntity);
+                bookSearchIndex.authorSaved(authorEntity);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return authorEntities;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<AuthorEntity> getAllAuthors() {
         return StreamSupport.stream(authorRepository
                 .findAll()
@@ -34,28 +147,137 @@ public class AuthorServiceImpl implements AuthorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamAuthors(Consumer<AuthorEntity> consumer) {
+        try (Stream<AuthorEntity> authors = entityManager
+                .createQuery("SELECT a FROM AuthorEntity a ORDER BY a.id", AuthorEntity.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            authors.forEach(authorEntity -> {
+                consumer.accept(authorEntity);
+                entityManager.detach(authorEntity);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AuthorEntity> findByAgeRange(Integer minAge, Integer maxAge, Pageable pageable) {
+        if (minAge != null && maxAge != null) {
+            return authorRepository.findByAgeBetween(minAge, maxAge, pageable);
+        }
+        if (minAge != null) {
+            return authorRepository.findByAgeGreaterThanEqual(minAge, pageable);
+        }
+        if (maxAge != null) {
+            return authorRepository.findByAgeLessThanEqual(maxAge, pageable);
+        }
+        return authorRepository.findAll(pageable);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#id", unless = "#result == null")
     public Optional<AuthorEntity> getAuthor(Long id) {
-        return authorRepository.findById(id);
+        return authorLookups.execute(id, () -> ReadYourWrites.onPrimary(() -> authorRepository.findById(id)));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<AuthorWithBooks> getAuthorWithBooks(Long id) {
+        List<Object[]> rows = authorRepository.findWithBooksById(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        List<BookEntity> books = rows.stream()
+                .map(row -> (BookEntity) row[1])
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return Optional.of(new AuthorWithBooks((AuthorEntity) rows.get(0)[0], books));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getAuthorVersionTag(Long id) {
+        return authorRepository.findVersionById(id).map(String::valueOf);
+    }
+
+    @Override
+    public String versionTag(AuthorEntity authorEntity) {
+        return String.valueOf(authorEntity.getVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public boolean isExists(Long id) {
         return authorRepository.existsById(id);
     }
 
     @Override
-    public AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity) {
-        authorEntity.setId(id);
-        return authorRepository.findById(id).map(existingAuthor -> {
-            Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
-            Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
-            return authorRepository.save(existingAuthor);
-        }).orElseThrow( () -> new RuntimeException("Author not found") );
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
+    })
+    public Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity) {
+        return partialUpdate(id, authorEntity, null);
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
+    })
+    public Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity, String expectedVersionTag) {
+        authorIdentityCache.evict(id);
+        publishAuthorChanged(id);
+        Optional<AuthorEntity> updatedAuthor = update(id, authorEntity, expectedVersionTag);
+        updatedAuthor.ifPresent(bookSearchIndex::authorSaved);
+        return updatedAuthor;
+    }
+
+    private Optional<AuthorEntity> update(Long id, AuthorEntity authorEntity, String expectedVersionTag) {
+        if (expectedVersionTag != null) {
+            Optional<AuthorEntity> existingAuthor = authorRepository.findById(id);
+            checkVersionTag(existingAuthor, expectedVersionTag, id);
+            return existingAuthor.map(author -> {
+                Optional.ofNullable(authorEntity.getName()).ifPresent(author::setName);
+                Optional.ofNullable(authorEntity.getAge()).ifPresent(author::setAge);
+                return author;
+            });
+        }
+        if (authorEntity.getName() == null && authorEntity.getAge() == null) {
+            return authorRepository.findById(id);
+        }
+        if (databasePlatform.isPostgres()) {
+            return authorRepository.patchReturning(id, authorEntity.getName(), authorEntity.getAge());
+        }
+        if (authorRepository.updateNameAndAge(id, authorEntity.getName(), authorEntity.getAge()) == 0) {
+            return Optional.empty();
+        }
+        return authorRepository.findById(id);
+    }
+
+    private void checkVersionTag(Optional<AuthorEntity> existingAuthor, String expectedVersionTag, Long id) {
+        if (expectedVersionTag == null) {
+            return;
+        }
+        boolean matches = existingAuthor
+                .map(author -> "*".equals(expectedVersionTag) || versionTag(author).equals(expectedVersionTag))
+                .orElse(false);
+        if (!matches) {
+            throw new ObjectOptimisticLockingFailureException(AuthorEntity.class, id);
+        }
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#id")
     public void delete(Long id) {
         authorRepository.deleteById(id);
+        authorIdentityCache.evict(id);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.of(CachedEntity.AUTHOR, id));
+        bookSearchIndex.authorDeleted(id);
     }
 
 }
@@ -0,0 +1,82 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.exports.BookExportWriter;
+import com.sillydev.quickstart.exports.CsvBookExportWriter;
+import com.sillydev.quickstart.exports.ExportFormat;
+import com.sillydev.quickstart.exports.NdjsonBookExportWriter;
+import com.sillydev.quickstart.services.BookExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+@Service
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final String EXPORT_SQL = "SELECT b.isbn, b.title, a.id, a.name, a.age "
+            + "FROM books b LEFT JOIN authors a ON a.id = b.author_id ORDER BY b.isbn";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ObjectMapper objectMapper;
+
+    private int fetchSize;
+
+    public BookExportServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${books.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public long exportBooks(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (BookExportWriter writer = format == ExportFormat.CSV
+                ? new CsvBookExportWriter(outputStream)
+                : new NdjsonBookExportWriter(objectMapper.getFactory(), outputStream)) {
+            Long rows = transactionTemplate.execute(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (ResultSetExtractor<Long>) resultSet -> {
+                long count = 0;
+                while (resultSet.next()) {
+                    try {
+                        writer.writeBook(
+                                resultSet.getString(1),
+                                resultSet.getString(2),
+                                resultSet.getObject(3, Long.class),
+                                resultSet.getString(4),
+                                resultSet.getObject(5, Integer.class)
+                        );
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count++;
+                }
+                return count;
+            }));
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
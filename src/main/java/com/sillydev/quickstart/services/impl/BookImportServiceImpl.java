@@ -0,0 +1,363 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.config.CacheConfig;
+import com.sillydev.quickstart.config.DatabasePlatform;
+import com.sillydev.quickstart.domain.dto.AuthorDto;
+import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.domain.dto.ImportEventDto;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.imports.BookImportReader;
+import com.sillydev.quickstart.imports.ImportFormat;
+import com.sillydev.quickstart.imports.ImportRow;
+import com.sillydev.quickstart.invalidation.CacheInvalidationBus;
+import com.sillydev.quickstart.invalidation.CacheInvalidationEvent;
+import com.sillydev.quickstart.invalidation.CachedEntity;
+import com.sillydev.quickstart.services.BookImportService;
+import com.sillydev.quickstart.services.BookService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final int PIPELINE_DEPTH = 4;
+
+    private static final List<ImportRow> END_OF_INPUT = List.of();
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE IF NOT EXISTS books_import "
+            + "(isbn varchar(255), title varchar(255), author_id bigint) ON COMMIT DELETE ROWS";
+
+    private static final String COPY_SQL = "COPY books_import (isbn, title, author_id) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL = "INSERT INTO books (isbn, title, author_id, version) "
+            + "SELECT isbn, title, author_id, 0 FROM books_import "
+            + "ON CONFLICT (isbn) DO UPDATE SET title = EXCLUDED.title, author_id = EXCLUDED.author_id, "
+            + "version = books.version + 1";
+
+    private BookService bookService;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private DatabasePlatform databasePlatform;
+
+    private CacheManager cacheManager;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private ObjectMapper objectMapper;
+
+    private int batchSize;
+
+    public BookImportServiceImpl(
+            BookService bookService,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            DatabasePlatform databasePlatform,
+            CacheManager cacheManager,
+            CacheInvalidationBus cacheInvalidationBus,
+            ObjectMapper objectMapper,
+            @Value("${books.import.batch-size:5000}") int batchSize
+    ) {
+        this.bookService = bookService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databasePlatform = databasePlatform;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ImportEventDto importBooks(InputStream input, ImportFormat format, Consumer<ImportEventDto> listener)
+            throws IOException {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress(listener);
+        BlockingQueue<List<ImportRow>> batches = new ArrayBlockingQueue<>(PIPELINE_DEPTH);
+        FutureTask<Void> writer = new FutureTask<>(() -> {
+            writeBatches(batches, progress);
+            return null;
+        });
+        Thread.ofVirtual().name("book-import-writer").start(writer);
+
+        try {
+            BookImportReader reader = new BookImportReader(input, format, objectMapper);
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                if (!row.isValid()) {
+                    progress.rowFailed(row.line(), row.error());
+                    continue;
+                }
+                progress.rowRead();
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    enqueue(batches, batch, writer);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(batches, batch, writer);
+            }
+        } catch (IOException | RuntimeException e) {
+            writer.cancel(true);
+            throw e;
+        }
+        enqueue(batches, END_OF_INPUT, writer);
+        awaitWriter(writer);
+        return progress.completed(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void enqueue(BlockingQueue<List<ImportRow>> batches, List<ImportRow> batch, Future<?> writer) {
+        try {
+            while (!batches.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    awaitWriter(writer);
+                    throw new IllegalStateException("Import writer stopped before the input was consumed");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            throw new IllegalStateException("Import was interrupted", e);
+        }
+    }
+
+    private void awaitWriter(Future<?> writer) {
+        try {
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            throw new IllegalStateException("Import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import failed", e.getCause());
+        }
+    }
+
+    private void writeBatches(BlockingQueue<List<ImportRow>> batches, ImportProgress progress)
+            throws InterruptedException {
+        Map<AuthorKey, Long> authorIds = new HashMap<>();
+        while (true) {
+            List<ImportRow> batch = batches.take();
+            if (batch == END_OF_INPUT) {
+                return;
+            }
+            Map<AuthorKey, Long> resolvedAuthorIds = new HashMap<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(batch, authorIds, resolvedAuthorIds));
+                authorIds.putAll(resolvedAuthorIds);
+                evictCaches();
+                progress.batchImported(batch.size());
+            } catch (RuntimeException e) {
+                progress.batchFailed(batch, e);
+            }
+        }
+    }
+
+    private void evictCaches() {
+        Optional.ofNullable(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).ifPresent(Cache::clear);
+        Optional.ofNullable(cacheManager.getCache(CacheConfig.AUTHORS_CACHE)).ifPresent(Cache::clear);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.all(CachedEntity.BOOK));
+        cacheInvalidationBus.publish(CacheInvalidationEvent.all(CachedEntity.AUTHOR));
+    }
+
+    private void writeBatch(
+            List<ImportRow> batch,
+            Map<AuthorKey, Long> knownAuthorIds,
+            Map<AuthorKey, Long> resolvedAuthorIds
+    ) {
+        Map<String, BookDto> books = new LinkedHashMap<>();
+        batch.forEach(row -> books.put(row.book().getIsbn(), row.book()));
+        resolveAuthors(books.values(), knownAuthorIds, resolvedAuthorIds);
+
+        Map<AuthorKey, Long> authorIds = new HashMap<>(knownAuthorIds);
+        authorIds.putAll(resolvedAuthorIds);
+        if (databasePlatform.isPostgres()) {
+            copyBooks(books.values(), authorIds);
+        } else {
+            bookService.createUpdateBooks(books.values().stream()
+                    .map(book -> toEntity(book, authorIds))
+                    .collect(Collectors.toList()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void resolveAuthors(
+            Collection<BookDto> books,
+            Map<AuthorKey, Long> knownAuthorIds,
+            Map<AuthorKey, Long> resolvedAuthorIds
+    ) {
+        Set<AuthorKey> missing = books.stream()
+                .map(BookDto::getAuthor)
+                .filter(Objects::nonNull)
+                .map(AuthorKey::of)
+                .filter(key -> !knownAuthorIds.containsKey(key))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<String> names = missing.stream()
+                .map(AuthorKey::name)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!names.isEmpty()) {
+            entityManager.createQuery("SELECT a FROM AuthorEntity a WHERE a.name IN :names", AuthorEntity.class)
+                    .setParameter("names", names)
+                    .getResultList()
+                    .forEach(author -> {
+                        AuthorKey key = new AuthorKey(author.getName(), author.getAge());
+                        if (missing.remove(key)) {
+                            resolvedAuthorIds.put(key, author.getId());
+                        }
+                    });
+        }
+        for (AuthorKey key : missing) {
+            AuthorEntity author = AuthorEntity.builder().name(key.name()).age(key.age()).build();
+            entityManager.persist(author);
+            resolvedAuthorIds.put(key, author.getId());
+        }
+        entityManager.flush();
+    }
+
+    private void copyBooks(Collection<BookDto> books, Map<AuthorKey, Long> authorIds) {
+        StringBuilder csv = new StringBuilder(books.size() * 64);
+        for (BookDto book : books) {
+            appendCsvValue(csv, book.getIsbn()).append(',');
+            appendCsvValue(csv, book.getTitle()).append(',');
+            if (book.getAuthor() != null) {
+                csv.append(authorIds.get(AuthorKey.of(book.getAuthor())));
+            }
+            csv.append('\n');
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into books_import failed", e);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(MERGE_SQL);
+            }
+        });
+    }
+
+    private static StringBuilder appendCsvValue(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return csv;
+    }
+
+    private static BookEntity toEntity(BookDto book, Map<AuthorKey, Long> authorIds) {
+        AuthorDto author = book.getAuthor();
+        return BookEntity.builder()
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .authorEntity(author == null ? null : AuthorEntity.builder()
+                        .id(authorIds.get(AuthorKey.of(author)))
+                        .name(author.getName())
+                        .age(author.getAge())
+                        .build())
+                .build();
+    }
+
+    private record AuthorKey(String name, Integer age) {
+
+        static AuthorKey of(AuthorDto author) {
+            return new AuthorKey(author.getName(), author.getAge());
+        }
+    }
+
+    private static final class ImportProgress {
+
+        private Consumer<ImportEventDto> listener;
+
+        private long rowsRead;
+
+        private long rowsImported;
+
+        private long rowsFailed;
+
+        ImportProgress(Consumer<ImportEventDto> listener) {
+            this.listener = listener;
+        }
+
+        synchronized void rowRead() {
+            rowsRead++;
+        }
+
+        synchronized void rowFailed(long line, String message) {
+            rowsRead++;
+            rowsFailed++;
+            listener.accept(event(ImportEventDto.Type.ERROR).line(line).message(message).build());
+        }
+
+        synchronized void batchImported(int rows) {
+            rowsImported += rows;
+            listener.accept(event(ImportEventDto.Type.PROGRESS).build());
+        }
+
+        synchronized void batchFailed(List<ImportRow> batch, RuntimeException e) {
+            rowsFailed += batch.size();
+            String message = "rows on lines " + batch.get(0).line() + "-" + batch.get(batch.size() - 1).line()
+                    + " were not imported: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            listener.accept(event(ImportEventDto.Type.ERROR).line(batch.get(0).line()).message(message).build());
+        }
+
+        synchronized ImportEventDto completed(long durationMillis) {
+            ImportEventDto event = event(ImportEventDto.Type.COMPLETED).durationMillis(durationMillis).build();
+            listener.accept(event);
+            return event;
+        }
+
+        private ImportEventDto.ImportEventDtoBuilder event(ImportEventDto.Type type) {
+            return ImportEventDto.builder()
+                    .type(type)
+                    .rowsRead(rowsRead)
+                    .rowsImported(rowsImported)
+                    .rowsFailed(rowsFailed);
+        }
+    }
+}
@@ -1,33 +1,250 @@
 package com.sillydev.quickstart.services.impl;
 
+import com.sillydev.quickstart.concurrent.SingleFlight;
+import com.sillydev.quickstart.config.CacheConfig;
+import com.sillydev.quickstart.config.DatabasePlatform;
+import com.sillydev.quickstart.datasource.ReadYourWrites;
+import com.sillydev.quickstart.domain.dto.WriteResult;
+import com.sillydev.quickstart.domain.dto.WriteStatus;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
 import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.invalidation.CacheInvalidationBus;
+import com.sillydev.quickstart.invalidation.CacheInvalidationEvent;
+import com.sillydev.quickstart.invalidation.CachedEntity;
+import com.sillydev.quickstart.repositories.AuthorRepository;
 import com.sillydev.quickstart.repositories.BookRepository;
+import com.sillydev.quickstart.search.BookSearchIndex;
+import com.sillydev.quickstart.services.AuthorIdentityCache;
 import com.sillydev.quickstart.services.BookService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Service
 public class BookServiceImpl implements BookService {
 
+    private static final int BATCH_CHUNK_SIZE = 1000;
+
     private BookRepository bookRepository;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    private AuthorRepository authorRepository;
+
+    private EntityManager entityManager;
+
+    private DatabasePlatform databasePlatform;
+
+    private BookSearchIndex bookSearchIndex;
+
+    private AuthorIdentityCache authorIdentityCache;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private CacheManager cacheManager;
+
+    private SingleFlight<String, Optional<BookEntity>> bookLookups;
+
+    public BookServiceImpl(
+            BookRepository bookRepository,
+            AuthorRepository authorRepository,
+            EntityManager entityManager,
+            DatabasePlatform databasePlatform,
+            BookSearchIndex bookSearchIndex,
+            AuthorIdentityCache authorIdentityCache,
+            CacheInvalidationBus cacheInvalidationBus,
+            CacheManager cacheManager,
+            @Value("${books.single-flight.max-wait-ms:2000}") long lookupMaxWaitMillis
+    ) {
         this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
+        this.databasePlatform = databasePlatform;
+        this.bookSearchIndex = bookSearchIndex;
+        this.authorIdentityCache = authorIdentityCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.cacheManager = cacheManager;
+        this.bookLookups = new SingleFlight<>(Duration.ofMillis(lookupMaxWaitMillis));
     }
 
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#isbn"),
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#bookEntity.authorEntity.id",
+                    condition = "#bookEntity.authorEntity?.id != null")
+    })
     public BookEntity createUpdateBook(String isbn, BookEntity bookEntity) {
+        return createUpdateBook(isbn, bookEntity, null).getEntity();
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#isbn"),
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#bookEntity.authorEntity.id",
+                    condition = "#bookEntity.authorEntity?.id != null")
+    })
+    public WriteResult<BookEntity> createUpdateBook(String isbn, BookEntity bookEntity, String expectedVersionTag) {
         bookEntity.setIsbn(isbn);
-        return bookRepository.save(bookEntity);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.of(CachedEntity.BOOK, isbn));
+        if (expectedVersionTag == null && databasePlatform.isPostgres()) {
+            AuthorEntity authorEntity = authorIdentityCache.findUnchanged(bookEntity.getAuthorEntity())
+                    .orElseGet(() -> resolveAuthor(bookEntity.getAuthorEntity(), loadAuthors(List.of(bookEntity))));
+            if (authorEntity != null && authorEntity.getId() == null) {
+                entityManager.persist(authorEntity);
+                entityManager.flush();
+            }
+            bookEntity.setAuthorEntity(authorEntity);
+            WriteResult<BookEntity> result = bookRepository.upsert(bookEntity);
+            bookSearchIndex.bookSaved(result.getEntity());
+            return result;
+        }
+
+        AuthorEntity authorEntity = resolveAuthor(bookEntity.getAuthorEntity(), loadAuthors(List.of(bookEntity)));
+        Optional<BookEntity> existingBook = bookRepository.findById(isbn);
+        checkVersionTag(existingBook, expectedVersionTag, isbn);
+        WriteResult<BookEntity> result = existingBook.map(book -> {
+            book.setTitle(bookEntity.getTitle());
+            book.setAuthorEntity(authorEntity);
+            return new WriteResult<>(book, WriteStatus.UPDATED);
+        }).orElseGet(() -> {
+            bookEntity.setAuthorEntity(authorEntity);
+            entityManager.persist(bookEntity);
+            return new WriteResult<>(bookEntity, WriteStatus.CREATED);
+        });
+        bookSearchIndex.bookSaved(result.getEntity());
+        return result;
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, allEntries = true)
+    })
+    public Map<String, WriteStatus> createUpdateBooks(Collection<BookEntity> bookEntities) {
+        cacheInvalidationBus.publish(CacheInvalidationEvent.all(CachedEntity.BOOK));
+        cacheInvalidationBus.publish(CacheInvalidationEvent.all(CachedEntity.AUTHOR));
+        Map<String, WriteStatus> statuses = new LinkedHashMap<>();
+        List<BookEntity> books = new ArrayList<>(bookEntities);
+        for (int from = 0; from < books.size(); from += BATCH_CHUNK_SIZE) {
+            List<BookEntity> chunk = books.subList(from, Math.min(from + BATCH_CHUNK_SIZE, books.size()));
+
+            Map<String, BookEntity> existingBooks = new HashMap<>();
+            bookRepository.findAllById(chunk.stream().map(BookEntity::getIsbn).collect(Collectors.toSet()))
+                    .forEach(existingBook -> existingBooks.put(existingBook.getIsbn(), existingBook));
+            Map<Long, AuthorEntity> existingAuthors = loadAuthors(chunk);
+
+            for (BookEntity bookEntity : chunk) {
+                AuthorEntity authorEntity = resolveAuthor(bookEntity.getAuthorEntity(), existingAuthors);
+                BookEntity existingBook = existingBooks.get(bookEntity.getIsbn());
+                if (existingBook != null) {
+                    existingBook.setTitle(bookEntity.getTitle());
+                    existingBook.setAuthorEntity(authorEntity);
+                    bookSearchIndex.bookSaved(existingBook);
+                    statuses.putIfAbsent(bookEntity.getIsbn(), WriteStatus.UPDATED);
+                } else {
+                    bookEntity.setAuthorEntity(authorEntity);
+                    entityManager.persist(bookEntity);
+                    existingBooks.put(bookEntity.getIsbn(), bookEntity);
+                    bookSearchIndex.bookSaved(bookEntity);
+                    statuses.putIfAbsent(bookEntity.getIsbn(), WriteStatus.CREATED);
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return statuses;
+    }
+
+    private Map<Long, AuthorEntity> loadAuthors(Collection<BookEntity> bookEntities) {
+        Set<Long> authorIds = bookEntities.stream()
+                .map(BookEntity::getAuthorEntity)
+                .filter(authorEntity -> authorEntity != null && authorEntity.getId() != null)
+                .map(AuthorEntity::getId)
+                .collect(Collectors.toSet());
+        Map<Long, AuthorEntity> authors = new HashMap<>();
+        if (!authorIds.isEmpty()) {
+            authorRepository.findAllById(authorIds).forEach(author -> authors.put(author.getId(), author));
+        }
+        return authors;
+    }
+
+    private AuthorEntity resolveAuthor(AuthorEntity authorEntity, Map<Long, AuthorEntity> existingAuthors) {
+        if (authorEntity == null || authorEntity.getId() == null) {
+            return authorEntity;
+        }
+        AuthorEntity existingAuthor = existingAuthors.get(authorEntity.getId());
+        if (existingAuthor == null) {
+            authorEntity.setId(null);
+            return authorEntity;
+        }
+        if (Objects.equals(existingAuthor.getName(), authorEntity.getName())
+                && Objects.equals(existingAuthor.getAge(), authorEntity.getAge())) {
+            authorIdentityCache.recordUnchanged(existingAuthor);
+            return existingAuthor;
+        }
+        authorIdentityCache.recordChanged(existingAuthor.getId());
+        cacheInvalidationBus.publish(CacheInvalidationEvent.of(CachedEntity.AUTHOR, existingAuthor.getId()));
+        cacheInvalidationBus.publish(CacheInvalidationEvent.all(CachedEntity.BOOK));
+        evictAllBooksAfterCommit();
+        existingAuthor.setName(authorEntity.getName());
+        existingAuthor.setAge(authorEntity.getAge());
+        return existingAuthor;
+    }
+
+    private void evictAllBooksAfterCommit() {
+        Runnable evict = () -> Optional.ofNullable(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).ifPresent(Cache::clear);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    private void checkVersionTag(Optional<BookEntity> existingBook, String expectedVersionTag, String isbn) {
+        if (expectedVersionTag == null) {
+            return;
+        }
+        boolean matches = existingBook
+                .map(book -> "*".equals(expectedVersionTag) || versionTag(book).equals(expectedVersionTag))
+                .orElse(false);
+        if (!matches) {
+            throw new ObjectOptimisticLockingFailureException(BookEntity.class, isbn);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookEntity> getAllBooks() {
         return StreamSupport.stream(bookRepository
                 .findAll()
@@ -37,32 +254,102 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<BookEntity> findAll(Pageable pageable) {
         return bookRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BookEntity> findAfter(String isbn, int limit) {
+        return bookRepository.findByIsbnGreaterThanOrderByIsbnAsc(isbn, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookEntity> findByAuthor(Long authorId, Pageable pageable) {
+        return bookRepository.findByAuthorEntityId(authorId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookEntity> search(String query, boolean includeAuthor, Pageable pageable) {
+        return bookSearchIndex.search(query, includeAuthor, pageable);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#isbn", unless = "#result == null")
     public Optional<BookEntity> getBook(String isbn) {
-        return bookRepository.findById(isbn);
+        return bookLookups.execute(isbn, () -> ReadYourWrites.onPrimary(() -> bookRepository.findById(isbn)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getBookVersionTag(String isbn) {
+        return bookRepository.findVersionsByIsbn(isbn)
+                .map(versions -> versionTag(versions.getBookVersion(), versions.getAuthorVersion()));
     }
 
     @Override
+    public String versionTag(BookEntity bookEntity) {
+        AuthorEntity authorEntity = bookEntity.getAuthorEntity();
+        return versionTag(bookEntity.getVersion(), authorEntity == null ? null : authorEntity.getVersion());
+    }
+
+    private static String versionTag(long bookVersion, Long authorVersion) {
+        return bookVersion + "." + (authorVersion == null ? 0 : authorVersion);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public boolean isExists(String isbn) {
         return bookRepository.existsById(isbn);
     }
 
     @Override
-    public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
-        bookEntity.setIsbn(isbn);
-        return bookRepository.findById(isbn).map(existingBook -> {
-            Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
-            return bookRepository.save(existingBook);
-        }).orElseThrow(() -> new RuntimeException("Book does not exist"));
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#isbn")
+    public Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity) {
+        return partialUpdate(isbn, bookEntity, null);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#isbn")
+    public Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity, String expectedVersionTag) {
+        cacheInvalidationBus.publish(CacheInvalidationEvent.of(CachedEntity.BOOK, isbn));
+        Optional<BookEntity> updatedBook = updateTitle(isbn, bookEntity.getTitle(), expectedVersionTag);
+        updatedBook.ifPresent(bookSearchIndex::bookSaved);
+        return updatedBook;
+    }
+
+    private Optional<BookEntity> updateTitle(String isbn, String title, String expectedVersionTag) {
+        if (expectedVersionTag != null) {
+            Optional<BookEntity> existingBook = bookRepository.findById(isbn);
+            checkVersionTag(existingBook, expectedVersionTag, isbn);
+            return existingBook.map(book -> {
+                Optional.ofNullable(title).ifPresent(book::setTitle);
+                return book;
+            });
+        }
+        if (title == null) {
+            return bookRepository.findById(isbn);
+        }
+        if (databasePlatform.isPostgres()) {
+            return bookRepository.patchTitleReturning(isbn, title);
+        }
+        if (bookRepository.updateTitle(isbn, title) == 0) {
+            return Optional.empty();
+        }
+        return bookRepository.findById(isbn);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#isbn")
     public void delete(String isbn) {
         bookRepository.deleteById(isbn);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.of(CachedEntity.BOOK, isbn));
+        bookSearchIndex.bookDeleted(isbn);
     }
 
 }
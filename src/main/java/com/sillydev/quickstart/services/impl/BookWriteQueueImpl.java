@@ -0,0 +1,356 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.sillydev.quickstart.domain.dto.WriteFailureDto;
+import com.sillydev.quickstart.domain.dto.WriteQueueStatusDto;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import com.sillydev.quickstart.services.BookWriteQueue;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "books.write-behind.enabled", havingValue = "true")
+public class BookWriteQueueImpl implements BookWriteQueue, SmartLifecycle {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+
+    private final LinkedHashMap<String, WriteFailureDto> failures = new LinkedHashMap<>();
+
+    private BookService bookService;
+
+    private int capacity;
+
+    private int batchSize;
+
+    private long maxDelayNanos;
+
+    private long offerTimeoutNanos;
+
+    private int maxRetries;
+
+    private long retryBackoffMillis;
+
+    private int failureHistory;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    private long committedWrites;
+
+    private long coalescedWrites;
+
+    private long rejectedWrites;
+
+    private long failedWrites;
+
+    private long batches;
+
+    private long retriedBatches;
+
+    private long lastCommitLagNanos;
+
+    private Instant lastCommitAt;
+
+    public BookWriteQueueImpl(
+            BookService bookService,
+            MeterRegistry meterRegistry,
+            @Value("${books.write-behind.capacity:10000}") int capacity,
+            @Value("${books.write-behind.batch-size:500}") int batchSize,
+            @Value("${books.write-behind.max-delay-ms:50}") long maxDelayMillis,
+            @Value("${books.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+            @Value("${books.write-behind.max-retries:3}") int maxRetries,
+            @Value("${books.write-behind.retry-backoff-ms:100}") long retryBackoffMillis,
+            @Value("${books.write-behind.failure-history:100}") int failureHistory
+    ) {
+        this.bookService = bookService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.failureHistory = failureHistory;
+        Gauge.builder("books.write_behind.depth", this, BookWriteQueueImpl::depth).register(meterRegistry);
+        Gauge.builder("books.write_behind.lag", this, queue -> queue.status().getOldestPendingMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean offer(String isbn, BookEntity bookEntity) {
+        bookEntity.setIsbn(isbn);
+        lock.lock();
+        try {
+            long remainingNanos = offerTimeoutNanos;
+            while (true) {
+                PendingWrite existing = pending.get(isbn);
+                if (existing != null) {
+                    pending.put(isbn, new PendingWrite(bookEntity, existing.enqueuedAt()));
+                    coalescedWrites++;
+                    return true;
+                }
+                if (running && pending.size() < capacity) {
+                    pending.put(isbn, new PendingWrite(bookEntity, System.nanoTime()));
+                    if (pending.size() == 1 || pending.size() >= batchSize) {
+                        notEmpty.signal();
+                    }
+                    return true;
+                }
+                if (!running || remainingNanos <= 0) {
+                    rejectedWrites++;
+                    return false;
+                }
+                remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedWrites++;
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public WriteQueueStatusDto status() {
+        lock.lock();
+        try {
+            long oldestPendingNanos = pending.isEmpty()
+                    ? 0
+                    : System.nanoTime() - pending.values().iterator().next().enqueuedAt();
+            return WriteQueueStatusDto.builder()
+                    .depth(pending.size())
+                    .capacity(capacity)
+                    .oldestPendingMillis(TimeUnit.NANOSECONDS.toMillis(oldestPendingNanos))
+                    .lastCommitLagMillis(TimeUnit.NANOSECONDS.toMillis(lastCommitLagNanos))
+                    .lastCommitAt(lastCommitAt)
+                    .committedWrites(committedWrites)
+                    .coalescedWrites(coalescedWrites)
+                    .rejectedWrites(rejectedWrites)
+                    .failedWrites(failedWrites)
+                    .batches(batches)
+                    .retriedBatches(retriedBatches)
+                    .recentFailures(List.copyOf(failures.values()))
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("book-write-behind").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private int depth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<PendingWrite> batch = takeBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            commit(batch);
+        }
+    }
+
+    private List<PendingWrite> takeBatch() {
+        lock.lock();
+        try {
+            while (running) {
+                if (pending.size() >= batchSize) {
+                    break;
+                }
+                long waitNanos = maxDelayNanos;
+                if (!pending.isEmpty()) {
+                    waitNanos -= System.nanoTime() - pending.values().iterator().next().enqueuedAt();
+                    if (waitNanos <= 0) {
+                        break;
+                    }
+                }
+                notEmpty.awaitNanos(waitNanos);
+            }
+
+            List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<Map.Entry<String, PendingWrite>> entries = pending.entrySet().iterator();
+            while (entries.hasNext() && batch.size() < batchSize) {
+                batch.add(entries.next().getValue());
+                entries.remove();
+            }
+            notFull.signalAll();
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        List<BookEntity> bookEntities = batch.stream().map(PendingWrite::bookEntity).toList();
+        RuntimeException failure = commitWithRetry(bookEntities);
+        if (failure == null) {
+            committed(batch);
+            return;
+        }
+        if (batch.size() == 1) {
+            failed(batch.get(0), failure);
+            return;
+        }
+
+        log.warn("Write-behind batch of {} books failed, retrying each book on its own", batch.size(), failure);
+        for (PendingWrite write : batch) {
+            RuntimeException writeFailure = commitWithRetry(List.of(write.bookEntity()));
+            if (writeFailure == null) {
+                committed(List.of(write));
+            } else {
+                failed(write, writeFailure);
+            }
+        }
+    }
+
+    private RuntimeException commitWithRetry(List<BookEntity> bookEntities) {
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                bookService.createUpdateBooks(bookEntities.stream().map(BookWriteQueueImpl::copyOf).toList());
+                return null;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries || !isTransient(e)) {
+                    return e;
+                }
+                log.warn("Write-behind commit of {} books failed, retrying in {} ms", bookEntities.size(), backoffMillis, e);
+                lock.lock();
+                try {
+                    retriedBatches++;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return e;
+                }
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    private static BookEntity copyOf(BookEntity bookEntity) {
+        AuthorEntity authorEntity = bookEntity.getAuthorEntity();
+        return BookEntity.builder()
+                .isbn(bookEntity.getIsbn())
+                .title(bookEntity.getTitle())
+                .authorEntity(authorEntity == null ? null : AuthorEntity.builder()
+                        .id(authorEntity.getId())
+                        .name(authorEntity.getName())
+                        .age(authorEntity.getAge())
+                        .build())
+                .build();
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void committed(List<PendingWrite> writes) {
+        long oldestEnqueuedAt = writes.stream().mapToLong(PendingWrite::enqueuedAt).min().orElse(System.nanoTime());
+        lock.lock();
+        try {
+            committedWrites += writes.size();
+            batches++;
+            lastCommitLagNanos = System.nanoTime() - oldestEnqueuedAt;
+            lastCommitAt = Instant.now();
+            writes.forEach(write -> failures.remove(write.bookEntity().getIsbn()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void failed(PendingWrite write, RuntimeException failure) {
+        String isbn = write.bookEntity().getIsbn();
+        log.error("Write-behind write of book {} failed", isbn, failure);
+        lock.lock();
+        try {
+            failedWrites++;
+            failures.remove(isbn);
+            failures.put(isbn, WriteFailureDto.builder()
+                    .isbn(isbn)
+                    .error(NestedExceptionUtils.getMostSpecificCause(failure).getMessage())
+                    .failedAt(Instant.now())
+                    .build());
+            Iterator<String> oldest = failures.keySet().iterator();
+            while (failures.size() > failureHistory) {
+                oldest.next();
+                oldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record PendingWrite(BookEntity bookEntity, long enqueuedAt) {
+    }
+}
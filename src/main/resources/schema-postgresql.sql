@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_books_title_fts ON books USING GIN (to_tsvector('simple', coalesce(title, '')));
+CREATE INDEX IF NOT EXISTS idx_authors_name_fts ON authors USING GIN (to_tsvector('simple', coalesce(name, '')));
+ALTER SEQUENCE IF EXISTS author_id_seq INCREMENT BY 50;
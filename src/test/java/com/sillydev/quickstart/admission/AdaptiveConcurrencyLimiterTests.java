@@ -0,0 +1,82 @@
+package com.sillydev.quickstart.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    public void testThatRequestsBeyondLimitAndQueueAreRejected() {
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(
+                2, 2, 0, Duration.ofMillis(10), Duration.ZERO);
+
+        assertThat(underTest.tryAcquire()).isTrue();
+        assertThat(underTest.tryAcquire()).isTrue();
+        assertThat(underTest.tryAcquire()).isFalse();
+        assertThat(underTest.getInFlight()).isEqualTo(2);
+        assertThat(underTest.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatQueuedRequestIsAdmittedWhenAPermitIsReleased() throws Exception {
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(
+                1, 1, 1, Duration.ofSeconds(5), Duration.ZERO);
+        assertThat(underTest.tryAcquire()).isTrue();
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(underTest::tryAcquire);
+        while (underTest.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        underTest.release(0);
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(underTest.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatQueuedRequestIsRejectedAfterMaxWait() {
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(
+                1, 1, 1, Duration.ofMillis(20), Duration.ZERO);
+        assertThat(underTest.tryAcquire()).isTrue();
+
+        assertThat(underTest.tryAcquire()).isFalse();
+        assertThat(underTest.getWaiting()).isZero();
+    }
+
+    @Test
+    public void testThatLimitShrinksWhenLatencyExceedsTarget() throws Exception {
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(
+                1, 20, 0, Duration.ZERO, Duration.ofMillis(1));
+        Thread.sleep(2);
+
+        assertThat(underTest.tryAcquire()).isTrue();
+        underTest.release(TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertThat(underTest.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    public void testThatLimitGrowsBackWhenLatencyIsWithinTarget() throws Exception {
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(
+                1, 20, 0, Duration.ZERO, Duration.ofMillis(1));
+        Thread.sleep(2);
+        assertThat(underTest.tryAcquire()).isTrue();
+        underTest.release(TimeUnit.MILLISECONDS.toNanos(50));
+
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < 9; j++) {
+                underTest.tryAcquire();
+            }
+            for (int j = 0; j < 9; j++) {
+                underTest.release(0);
+            }
+        }
+
+        assertThat(underTest.getLimit()).isEqualTo(20);
+    }
+}
@@ -0,0 +1,126 @@
+package com.sillydev.quickstart.admission;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdmissionControlFilterTests {
+
+    private Map<RouteClass, AdaptiveConcurrencyLimiter> limiters;
+
+    private AdmissionControlFilter underTest;
+
+    public AdmissionControlFilterTests() {
+        this.limiters = new EnumMap<>(RouteClass.class);
+        for (RouteClass routeClass : RouteClass.values()) {
+            limiters.put(routeClass, new AdaptiveConcurrencyLimiter(1, 1, 0, Duration.ofMillis(10), Duration.ZERO));
+        }
+        this.underTest = new AdmissionControlFilter(limiters, 3);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    @Test
+    public void testThatBulkEndpointsAreClassifiedAsBulk() {
+        assertThat(RouteClass.of(request("POST", "/books/import"))).isEqualTo(RouteClass.BULK);
+        assertThat(RouteClass.of(request("GET", "/books/export"))).isEqualTo(RouteClass.BULK);
+        assertThat(RouteClass.of(request("POST", "/authors/batch"))).isEqualTo(RouteClass.BULK);
+        assertThat(RouteClass.of(request("PUT", "/books"))).isEqualTo(RouteClass.BULK);
+    }
+
+    @Test
+    public void testThatNdjsonRequestsAreClassifiedAsBulk() {
+        MockHttpServletRequest request = request("GET", "/authors");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE);
+
+        assertThat(RouteClass.of(request)).isEqualTo(RouteClass.BULK);
+    }
+
+    @Test
+    public void testThatSingleResourceRequestsAreClassifiedByMethod() {
+        assertThat(RouteClass.of(request("GET", "/books"))).isEqualTo(RouteClass.READ);
+        assertThat(RouteClass.of(request("HEAD", "/books/1234567890"))).isEqualTo(RouteClass.READ);
+        assertThat(RouteClass.of(request("PUT", "/books/1234567890"))).isEqualTo(RouteClass.WRITE);
+        assertThat(RouteClass.of(request("PATCH", "/authors/1"))).isEqualTo(RouteClass.WRITE);
+        assertThat(RouteClass.of(request("DELETE", "/books/1234567890"))).isEqualTo(RouteClass.WRITE);
+    }
+
+    @Test
+    public void testThatRequestsOverTheLimitAreRejectedWithRetryAfter() throws Exception {
+        limiters.get(RouteClass.WRITE).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        underTest.doFilter(request("PUT", "/books/1234567890"), response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(limiters.get(RouteClass.WRITE).getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatAFullPoolDoesNotRejectOtherRouteClasses() throws Exception {
+        limiters.get(RouteClass.BULK).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        underTest.doFilter(request("GET", "/books/1234567890"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void testThatThePermitIsReleasedWhenTheRequestCompletes() throws Exception {
+        underTest.doFilter(request("GET", "/books"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(limiters.get(RouteClass.READ).getInFlight()).isZero();
+    }
+
+    @Test
+    public void testThatThePermitIsReleasedWhenTheHandlerThrows() {
+        FilterChain failingChain = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> underTest.doFilter(request("GET", "/books"), new MockHttpServletResponse(), failingChain))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(limiters.get(RouteClass.READ).getInFlight()).isZero();
+    }
+
+    @Test
+    public void testThatAsyncRequestsHoldThePermitUntilTheyComplete() throws Exception {
+        MockHttpServletRequest request = request("POST", "/books/import");
+        FilterChain asyncChain = (servletRequest, servletResponse) -> servletRequest.startAsync();
+
+        underTest.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+        assertThat(limiters.get(RouteClass.BULK).getInFlight()).isEqualTo(1);
+        request.getAsyncContext().complete();
+        assertThat(limiters.get(RouteClass.BULK).getInFlight()).isZero();
+    }
+
+    @Test
+    public void testThatActuatorRequestsBypassAdmissionControl() throws Exception {
+        limiters.get(RouteClass.READ).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        underTest.doFilter(request("GET", "/actuator/health"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,120 @@
+package com.sillydev.quickstart.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTests {
+
+    private static final int CALLERS = 100;
+
+    @Test
+    public void testThatConcurrentLookupsForTheSameKeyShareOneDatabaseHit() throws Exception {
+        SingleFlight<String, Optional<String>> underTest = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger databaseHits = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            List<CompletableFuture<Optional<String>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> underTest.execute("1234567890", () -> {
+                    databaseHits.incrementAndGet();
+                    await(release);
+                    return Optional.of("The Hobbit");
+                }), executor));
+            }
+            while (underTest.waiters("1234567890") < CALLERS - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (CompletableFuture<Optional<String>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).contains("The Hobbit");
+            }
+        }
+        assertThat(databaseHits.get()).isEqualTo(1);
+        assertThat(underTest.waiters("1234567890")).isZero();
+    }
+
+    @Test
+    public void testThatLookupsForDifferentKeysDoNotShareAFlight() {
+        SingleFlight<String, String> underTest = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger databaseHits = new AtomicInteger();
+
+        underTest.execute("1234567890", () -> "hit " + databaseHits.incrementAndGet());
+        underTest.execute("9876543210", () -> "hit " + databaseHits.incrementAndGet());
+        underTest.execute("1234567890", () -> "hit " + databaseHits.incrementAndGet());
+
+        assertThat(databaseHits.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testThatLeaderFailureIsPropagatedToWaiters() throws Exception {
+        SingleFlight<String, String> underTest = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> underTest.execute("1234567890", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(
+                () -> underTest.execute("1234567890", () -> "unexpected"));
+        while (underTest.waiters("1234567890") == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(failure);
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(failure);
+    }
+
+    @Test
+    public void testThatWaitersGiveUpAfterTheMaxWait() throws Exception {
+        SingleFlight<String, String> underTest = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> underTest.execute("1234567890", () -> {
+            started.countDown();
+            await(release);
+            return "The Hobbit";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> underTest.execute("1234567890", () -> "unexpected"))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("The Hobbit");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
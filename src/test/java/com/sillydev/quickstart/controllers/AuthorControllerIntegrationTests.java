@@ -1,22 +1,35 @@
 package com.sillydev.quickstart.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.sillydev.quickstart.TestDataUtil;
 import com.sillydev.quickstart.domain.dto.AuthorDto;
 import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
 import com.sillydev.quickstart.services.AuthorService;
+import com.sillydev.quickstart.services.BookService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -27,12 +40,15 @@ public class AuthorControllerIntegrationTests {
 
     private AuthorService authorService;
 
+    private BookService bookService;
+
     private ObjectMapper objectMapper;
 
     @Autowired
-    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService) {
+    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService, BookService bookService) {
         this.mockMvc = mockMvc;
         this.authorService = authorService;
+        this.bookService = bookService;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -73,6 +89,34 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatCreateAuthorsBatchReturnsSavedAuthorsWithDistinctIds() throws Exception {
+        String authorsJson = objectMapper.writeValueAsString(List.of(
+                TestDataUtil.createTestAuthor(),
+                TestDataUtil.createTestAuthor1(),
+                TestDataUtil.createTestAuthor2()
+        ));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorsJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].name").value("Kamran")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].name").value("Aamir")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[*].id", hasSize(3))
+        );
+
+        assertThat(authorService.getAllAuthors())
+                .extracting(AuthorEntity::getId)
+                .doesNotHaveDuplicates()
+                .hasSize(3);
+    }
+
     @Test
     public void testThatGetAuthorsReturnsHttpStatus200() throws Exception {
 
@@ -111,6 +155,126 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatStreamAuthorsReturnsOneJsonLinePerAuthor() throws Exception {
+        AuthorEntity author = TestDataUtil.createTestAuthor();
+        authorService.save(author);
+
+        AuthorEntity author1 = TestDataUtil.createTestAuthor1();
+        authorService.save(author1);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors")
+                        .accept(MediaType.APPLICATION_NDJSON)
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON)
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString(
+                        "{\"id\":" + author.getId() + ",\"name\":\"Kamran\",\"age\":25}\n"
+                                + "{\"id\":" + author1.getId() + ",\"name\":\"Danish\",\"age\":24}"))
+        );
+    }
+
+    @Test
+    public void testThatGetAuthorsByAgeRangeReturnsPageOrderedByAge() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthor());
+        authorService.save(TestDataUtil.createTestAuthor1());
+        authorService.save(TestDataUtil.createTestAuthor2());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?minAge=25&maxAge=30")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Kamran")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].name").value("Aamir")
+        );
+    }
+
+    @Test
+    public void testThatGetAuthorReturnsCborWhenRequested() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+                        .accept(MediaType.APPLICATION_CBOR)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR)
+        ).andReturn().getResponse().getContentAsByteArray();
+
+        AuthorDto authorDto = new ObjectMapper(new CBORFactory()).readValue(body, AuthorDto.class);
+        assertThat(authorDto.getId()).isEqualTo(savedAuthor.getId());
+        assertThat(authorDto.getName()).isEqualTo("Kamran");
+        assertThat(authorDto.getAge()).isEqualTo(25);
+    }
+
+    @Test
+    public void testThatGetAuthorsByAgeRangeReturnsSmilePageWhenRequested() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthor());
+        authorService.save(TestDataUtil.createTestAuthor1());
+        authorService.save(TestDataUtil.createTestAuthor2());
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?minAge=25&maxAge=30")
+                        .accept(MediaType.valueOf("application/x-jackson-smile"))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentType("application/x-jackson-smile")
+        ).andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(page.path("totalElements").asInt()).isEqualTo(2);
+        assertThat(page.path("content").findValuesAsText("name")).containsExactly("Kamran", "Aamir");
+    }
+
+    @Test
+    public void testThatGetAuthorsByMaxAgeReturnsYoungerAuthors() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthor());
+        authorService.save(TestDataUtil.createTestAuthor1());
+        authorService.save(TestDataUtil.createTestAuthor2());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?maxAge=24")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Danish")
+        );
+    }
+
+    @Test
+    public void testThatGetAuthorsByMaxAgeIncludesNegativeAges() throws Exception {
+        AuthorEntity author = TestDataUtil.createTestAuthor();
+        author.setAge(-1);
+        authorService.save(author);
+        authorService.save(TestDataUtil.createTestAuthor2());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?maxAge=24")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].age").value(-1)
+        );
+    }
+
     @Test
     public void testThatGetAuthorReturnsHttpStatus200WhenAuthorExists() throws Exception {
         AuthorEntity author = TestDataUtil.createTestAuthor();
@@ -154,6 +318,72 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatGetAuthorBooksReturnsPageOfTheAuthorsBooks() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthor());
+        BookEntity book = TestDataUtil.createTestBook(author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book1 = TestDataUtil.createTestBook1(author);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        BookEntity otherBook = TestDataUtil.createTestBook1(null);
+        otherBook.setIsbn("5555555555");
+        bookService.createUpdateBook(otherBook.getIsbn(), otherBook);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + author.getId() + "/books")
+                        .param("size", "1")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content", hasSize(1))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value("1234567890")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author.id").value(author.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        );
+    }
+
+    @Test
+    public void testThatGetAuthorBooksReturnsHttpStatus404WhenNoAuthorExists() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/99/books")
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+
+    @Test
+    public void testThatGetAuthorWithIncludeBooksReturnsAuthorAndBooks() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthor());
+        BookEntity book = TestDataUtil.createTestBook(author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        AuthorEntity authorWithoutBooks = authorService.save(TestDataUtil.createTestAuthor1());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + author.getId())
+                        .param("include", "books")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value("Kamran")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.books", hasSize(1))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.books[0].isbn").value(book.getIsbn())
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + authorWithoutBooks.getId())
+                        .param("include", "books")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value("Danish")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.books", hasSize(0))
+        );
+    }
+
     @Test
     public void testThatUpdateAuthorReturnsHttpStatus404WhenNoAuthorExists() throws Exception {
         AuthorEntity author = TestDataUtil.createTestAuthor();
@@ -247,6 +477,56 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatPatchAuthorReturnsHttpStatus404WhenNoAuthorExists() throws Exception {
+        String authorJson = objectMapper.writeValueAsString(AuthorDto.builder().name("MKM").build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+
+    @Test
+    public void testThatPatchAuthorLeavesFieldsWithoutAValueUnchanged() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        String authorJson = objectMapper.writeValueAsString(AuthorDto.builder().age(30).build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value("Kamran")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.age").value(30)
+        );
+    }
+
+    @Test
+    public void testThatPatchAuthorIncrementsTheVersion() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        String eTag = "\"" + authorService.versionTag(savedAuthor) + "\"";
+        String authorJson = objectMapper.writeValueAsString(AuthorDto.builder().name("MKM").build());
+
+        String patchedETag = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(patchedETag).isNotNull().isNotEqualTo(eTag);
+        assertThat(authorService.getAuthor(savedAuthor.getId()))
+                .hasValueSatisfying(author -> assertThat(author.getVersion()).isEqualTo(savedAuthor.getVersion() + 1));
+    }
+
     @Test
     public void testThatDeleteAuthorReturnsHttpStatus204ForNonExistingAuthor() throws Exception {
         mockMvc.perform(
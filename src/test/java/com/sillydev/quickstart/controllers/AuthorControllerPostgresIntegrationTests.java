@@ -0,0 +1,78 @@
+package com.sillydev.quickstart.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.dto.AuthorDto;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.services.AuthorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@ActiveProfiles("postgres")
+@EnabledIfSystemProperty(named = "books.test.postgres-url", matches = ".+")
+public class AuthorControllerPostgresIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    private AuthorService authorService;
+
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    public AuthorControllerPostgresIntegrationTests(MockMvc mockMvc, AuthorService authorService) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    public void testThatPatchAuthorReturningUpdatesOnlyTheGivenFields() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        String eTag = "\"" + authorService.versionTag(savedAuthor) + "\"";
+
+        String patchedETag = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AuthorDto.builder().age(30).build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value("Kamran")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.age").value(30)
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(patchedETag).isNotNull().isNotEqualTo(eTag);
+        assertThat(authorService.getAuthor(savedAuthor.getId()))
+                .hasValueSatisfying(author -> assertThat(author.getVersion()).isEqualTo(savedAuthor.getVersion() + 1));
+    }
+
+    @Test
+    public void testThatPatchAuthorReturningReturnsHttpStatus404WhenNoAuthorExists() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AuthorDto.builder().name("MKM").build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+}
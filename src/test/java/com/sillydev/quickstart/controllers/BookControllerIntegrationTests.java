@@ -1,23 +1,37 @@
 package com.sillydev.quickstart.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jayway.jsonpath.JsonPath;
 import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.dto.AuthorDto;
+import com.sillydev.quickstart.domain.dto.BookDto;
 import com.sillydev.quickstart.domain.entities.AuthorEntity;
 import com.sillydev.quickstart.domain.entities.BookEntity;
 import com.sillydev.quickstart.services.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -30,11 +44,18 @@ public class BookControllerIntegrationTests {
 
     private ObjectMapper objectMapper;
 
+    private Statistics statistics;
+
     @Autowired
-    public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService) {
+    public BookControllerIntegrationTests(
+            MockMvc mockMvc,
+            BookService bookService,
+            EntityManagerFactory entityManagerFactory
+    ) {
         this.mockMvc = mockMvc;
         this.bookService = bookService;
         this.objectMapper = new ObjectMapper();
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
     @Test
@@ -69,6 +90,48 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatCreateThenUpdateBookReturnsStatusAndETagOfEachWrite() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+
+        String createdETag = mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.header().exists(HttpHeaders.ETAG)
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, createdETag)
+        );
+
+        book.setTitle("The Hobbit, or There and Back Again");
+        String updatedETag = mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("The Hobbit, or There and Back Again")
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(updatedETag).isNotNull().isNotEqualTo(createdETag);
+        assertThat(bookService.getBook(book.getIsbn()))
+                .hasValueSatisfying(savedBook -> assertThat(savedBook.getVersion()).isEqualTo(1));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, updatedETag)
+        );
+    }
+
     @Test
     public void testThatUpdateBookSuccessfullyReturnsSavedUpdatedBook() throws Exception {
         BookEntity book = TestDataUtil.createTestBook(null);
@@ -109,6 +172,40 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatCreateUpdateBooksReturnsStatusPerIsbn() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        BookDto updatedBook = BookDto.builder()
+                .isbn(book.getIsbn())
+                .title("The Hobbit, Revised")
+                .build();
+        BookDto newBook = BookDto.builder()
+                .isbn("9876543210")
+                .title("Game of Thrones")
+                .author(AuthorDto.builder().name("Kamran").age(25).build())
+                .build();
+        String booksJson = objectMapper.writeValueAsString(List.of(updatedBook, newBook));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booksJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$['" + updatedBook.getIsbn() + "']").value("UPDATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$['" + newBook.getIsbn() + "']").value("CREATED")
+        );
+
+        assertThat(bookService.getBook(updatedBook.getIsbn()))
+                .hasValueSatisfying(b -> assertThat(b.getTitle()).isEqualTo("The Hobbit, Revised"));
+        assertThat(bookService.getBook(newBook.getIsbn()))
+                .hasValueSatisfying(b -> assertThat(b.getAuthorEntity().getName()).isEqualTo("Kamran"));
+    }
+
     @Test
     public void testThatGetBooksReturnsHttpStatus200() throws Exception {
         mockMvc.perform(
@@ -119,6 +216,31 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatGetBooksLoadsAuthorsWithThePageQuery() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book1 = TestDataUtil.createTestBook1(TestDataUtil.createTestAuthor1());
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        BookEntity book2 = TestDataUtil.createTestBook2(TestDataUtil.createTestAuthor2());
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+
+        statistics.clear();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author.name").isString()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].author.name").isString()
+        );
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
     @Test
     @Disabled
     public void testThatGetBookReturnsListOfBooks() throws Exception {
@@ -135,6 +257,98 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatGetBooksAfterCursorWalksBooksInIsbnOrder() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book1 = TestDataUtil.createTestBook1(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        BookEntity book2 = TestDataUtil.createTestBook2(null);
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(book.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].isbn").value(book2.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.next").isString()
+        ).andReturn();
+
+        String next = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.next");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=" + next + "&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(book1.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.next").doesNotExist()
+        );
+    }
+
+    @Test
+    public void testThatSearchBooksReturnsRankedTitleAndAuthorMatches() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book1 = TestDataUtil.createTestBook1(TestDataUtil.createTestAuthor1());
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        BookEntity book2 = TestDataUtil.createTestBook2(TestDataUtil.createTestAuthor2());
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "the lord")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(book2.getIsbn())
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "kamran").param("author", "true")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].title").value(book.getTitle())
+        );
+    }
+
+    @Test
+    public void testThatSearchBooksMatchesEveryTermAcrossTitleAndAuthor() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book2 = TestDataUtil.createTestBook2(TestDataUtil.createTestAuthor2());
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "kamran hobbit").param("author", "true")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(book.getIsbn())
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "kamran hobbit")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(0)
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "kamran rings").param("author", "true")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(0)
+        );
+    }
+
     @Test
     public void testThatGetBooksReturnHttpStatus200() throws Exception {
         BookEntity book = TestDataUtil.createTestBook(null);
@@ -161,6 +375,108 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatGetBookReturnsCborWhenRequested() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+                        .accept(MediaType.APPLICATION_CBOR)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR)
+        ).andReturn().getResponse().getContentAsByteArray();
+
+        BookDto bookDto = new ObjectMapper(new CBORFactory()).readValue(body, BookDto.class);
+        assertThat(bookDto.getIsbn()).isEqualTo(book.getIsbn());
+        assertThat(bookDto.getTitle()).isEqualTo(book.getTitle());
+    }
+
+    @Test
+    public void testThatGetBookReturnsSmileWhenRequested() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+                        .accept(MediaType.valueOf("application/x-jackson-smile"))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentType("application/x-jackson-smile")
+        ).andReturn().getResponse().getContentAsByteArray();
+
+        BookDto bookDto = new ObjectMapper(new SmileFactory()).readValue(body, BookDto.class);
+        assertThat(bookDto.getIsbn()).isEqualTo(book.getIsbn());
+        assertThat(bookDto.getTitle()).isEqualTo(book.getTitle());
+        assertThat(bookDto.getAuthor().getName()).isEqualTo("Kamran");
+    }
+
+    @Test
+    public void testThatGetBookReturnsJsonByDefault() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+                        .accept(MediaType.ALL)
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.isbn").value(book.getIsbn())
+        );
+    }
+
+    @Test
+    public void testThatGetBookReturnsHttp304WhenETagMatches() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        String eTag = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().exists(HttpHeaders.ETAG)
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotModified()
+        ).andExpect(
+                MockMvcResultMatchers.content().string("")
+        );
+    }
+
+    @Test
+    public void testThatCreateUpdateBookReturnsHttp412WhenIfMatchIsStale() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        String staleETag = "\"" + bookService.versionTag(savedBook) + "\"";
+
+        BookDto bookDto = BookDto.builder().isbn(book.getIsbn()).title("First update").build();
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        bookDto.setTitle("Second update");
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isPreconditionFailed()
+        );
+    }
+
     @Test
     public void testThatPatchBookReturnsHttpStatus200() throws Exception {
         BookEntity book = TestDataUtil.createTestBook(null);
@@ -179,6 +495,58 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatPatchBookReturnsHttpStatus404WhenNoBookExists() throws Exception {
+        String bookJson = objectMapper.writeValueAsString(BookDto.builder().title("MKM").build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+
+    @Test
+    public void testThatPatchBookWithoutTitleLeavesBookUnchanged() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        String bookJson = objectMapper.writeValueAsString(BookDto.builder().build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("The Hobbit")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + bookService.versionTag(savedBook) + "\"")
+        );
+    }
+
+    @Test
+    public void testThatPatchBookIncrementsTheVersion() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        String eTag = "\"" + bookService.versionTag(savedBook) + "\"";
+        String bookJson = objectMapper.writeValueAsString(BookDto.builder().title("MKM").build());
+
+        String patchedETag = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(patchedETag).isNotNull().isNotEqualTo(eTag);
+        assertThat(bookService.getBook(book.getIsbn()))
+                .hasValueSatisfying(patchedBook -> assertThat(patchedBook.getVersion()).isEqualTo(savedBook.getVersion() + 1));
+    }
+
     @Test
     public void testThatPatchAuthorReturnsUpdatedAuthor() throws Exception {
         BookEntity book = TestDataUtil.createTestBook(null);
@@ -199,6 +567,61 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatGetBookReturnsPatchedBookAfterCachedRead() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        bookService.getBook(book.getIsbn());
+
+        BookEntity book1 = TestDataUtil.createTestBook1(null);
+        book1.setTitle("MKM");
+        String bookJson = objectMapper.writeValueAsString(book1);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("MKM")
+        );
+    }
+
+    @Test
+    public void testThatGetBookReturnsRenamedAuthorAfterCachedRead() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        bookService.getBook(book.getIsbn());
+
+        BookDto book1 = BookDto.builder()
+                .title("Game of Thrones")
+                .author(AuthorDto.builder().id(savedBook.getAuthorEntity().getId()).name("Kamran Khan").age(26).build())
+                .build();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/9876543210")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book1))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.name").value("Kamran Khan")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.age").value(26)
+        );
+    }
+
     @Test
     public void testThatDeleteAuthorReturnsHttpStatus204ForNonExistingBook() throws Exception {
         mockMvc.perform(
@@ -0,0 +1,191 @@
+package com.sillydev.quickstart.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.config.DatabasePlatform;
+import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.domain.dto.WriteStatus;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@ActiveProfiles("postgres")
+@EnabledIfSystemProperty(named = "books.test.postgres-url", matches = ".+")
+public class BookControllerPostgresIntegrationTests {
+
+    private static final int CALLERS = 8;
+
+    private MockMvc mockMvc;
+
+    private BookService bookService;
+
+    private ObjectMapper objectMapper;
+
+    private DatabasePlatform databasePlatform;
+
+    @Autowired
+    public BookControllerPostgresIntegrationTests(
+            MockMvc mockMvc,
+            BookService bookService,
+            DatabasePlatform databasePlatform
+    ) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.objectMapper = new ObjectMapper();
+        this.databasePlatform = databasePlatform;
+    }
+
+    @Test
+    public void testThatUpsertReportsCreatedThenUpdatedWithTheWrittenVersion() throws Exception {
+        assertThat(databasePlatform.isPostgres()).isTrue();
+        BookEntity book = TestDataUtil.createTestBook(null);
+
+        String createdETag = mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.header().exists(HttpHeaders.ETAG)
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, createdETag)
+        );
+
+        book.setTitle("The Hobbit, or There and Back Again");
+        String updatedETag = mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("The Hobbit, or There and Back Again")
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(updatedETag).isNotNull().isNotEqualTo(createdETag);
+        assertThat(bookService.getBook(book.getIsbn()))
+                .hasValueSatisfying(savedBook -> assertThat(savedBook.getVersion()).isEqualTo(1));
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, updatedETag)
+        );
+    }
+
+    @Test
+    public void testThatConcurrentUpsertsOfANewIsbnCreateItOnce() throws Exception {
+        List<CompletableFuture<WriteStatus>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> bookService.createUpdateBook(
+                        "1234567890", TestDataUtil.createTestBook(null), null).getStatus(), executor));
+            }
+        }
+
+        List<WriteStatus> statuses = new ArrayList<>();
+        for (CompletableFuture<WriteStatus> result : results) {
+            statuses.add(result.get(10, TimeUnit.SECONDS));
+        }
+        assertThat(statuses).containsOnlyOnce(WriteStatus.CREATED);
+        assertThat(bookService.getBook("1234567890"))
+                .hasValueSatisfying(savedBook -> assertThat(savedBook.getVersion()).isEqualTo(CALLERS - 1));
+    }
+
+    @Test
+    public void testThatPatchBookReturningUpdatesTitleAndVersion() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        String eTag = "\"" + bookService.versionTag(savedBook) + "\"";
+
+        String patchedETag = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookDto.builder().title("MKM").build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("MKM")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.name").value("Kamran")
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(patchedETag).isNotNull().isNotEqualTo(eTag);
+        assertThat(bookService.getBook(book.getIsbn())).hasValueSatisfying(patchedBook -> {
+            assertThat(patchedBook.getTitle()).isEqualTo("MKM");
+            assertThat(patchedBook.getVersion()).isEqualTo(savedBook.getVersion() + 1);
+        });
+    }
+
+    @Test
+    public void testThatPatchBookReturningReturnsHttpStatus404WhenNoBookExists() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookDto.builder().title("MKM").build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+
+    @Test
+    public void testThatSearchBooksMatchesEveryTermAcrossTitleAndAuthor() throws Exception {
+        assertThat(databasePlatform.isPostgres()).isTrue();
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book2 = TestDataUtil.createTestBook2(TestDataUtil.createTestAuthor2());
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "the lord")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(book2.getIsbn())
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "kamran hobbit").param("author", "true")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(book.getIsbn())
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search").param("q", "kamran hobbit")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(0)
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package com.sillydev.quickstart.controllers;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BookExportControllerIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    private BookService bookService;
+
+    @Autowired
+    public BookExportControllerIntegrationTests(MockMvc mockMvc, BookService bookService) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+    }
+
+    @Test
+    public void testThatExportBooksStreamsCsvWithAuthors() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book1 = TestDataUtil.createTestBook1(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export").param("format", "csv")
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().string(
+                        "isbn,title,author_id,author_name,author_age\n"
+                                + "1234567890,The Hobbit," + savedBook.getAuthorEntity().getId() + ",Kamran,25\n"
+                                + "9876543210,Game of Thrones,,,\n")
+        );
+    }
+
+    @Test
+    public void testThatExportBooksStreamsNdjsonByDefault() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity book1 = TestDataUtil.createTestBook1(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export")
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.ndjson\"")
+        ).andExpect(
+                MockMvcResultMatchers.content().string(
+                        "{\"isbn\":\"1234567890\",\"title\":\"The Hobbit\",\"author\":{\"id\":"
+                                + savedBook.getAuthorEntity().getId() + ",\"name\":\"Kamran\",\"age\":25}}\n"
+                                + "{\"isbn\":\"9876543210\",\"title\":\"Game of Thrones\",\"author\":null}\n")
+        );
+    }
+
+    @Test
+    public void testThatExportBooksWithGzipReturnsACompressedBody() throws Exception {
+        BookEntity book1 = TestDataUtil.createTestBook1(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export").param("format", "csv").param("gzip", "true")
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.csv.gz\"")
+        ).andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(gunzip(body)).isEqualTo("isbn,title,author_id,author_name,author_age\n9876543210,Game of Thrones,,,\n");
+    }
+
+    static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.sillydev.quickstart.controllers;
+
+import com.sillydev.quickstart.services.AuthorService;
+import com.sillydev.quickstart.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BookImportControllerIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    private BookService bookService;
+
+    private AuthorService authorService;
+
+    @Autowired
+    public BookImportControllerIntegrationTests(MockMvc mockMvc, BookService bookService, AuthorService authorService) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.authorService = authorService;
+    }
+
+    @Test
+    public void testThatImportBooksFromCsvDedupesAuthorsAndReportsRowErrors() throws Exception {
+        String csv = "isbn,title,author_name,author_age\n"
+                + "1234567890,The Hobbit,Kamran,25\n"
+                + "9876543210,\"Game of Thrones, Part 1\",Kamran,25\n"
+                + ",Missing isbn,Danish,24\n"
+                + "8556677898,The Lord of The Rings,Aamir,not-a-number\n";
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/import")
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(csv)
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("{\"type\":\"ERROR\",\"line\":4,"))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("{\"type\":\"ERROR\",\"line\":5,"))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString(
+                        "{\"type\":\"COMPLETED\",\"rowsRead\":4,\"rowsImported\":2,\"rowsFailed\":2,"))
+        );
+
+        assertThat(bookService.getBook("9876543210"))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("Game of Thrones, Part 1"));
+        assertThat(authorService.getAllAuthors()).hasSize(1);
+    }
+
+    @Test
+    public void testThatImportBooksFromCsvReadsQuotedValuesSpanningLines() throws Exception {
+        String csv = "isbn,title,author_name,author_age\n"
+                + "1234567890,\"The Hobbit\n\nor \"\"There and Back Again\"\"\",Kamran,25\n"
+                + ",Missing isbn,Danish,24\n"
+                + "9876543210,Game of Thrones,Kamran,25\n";
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/import")
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(csv)
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("{\"type\":\"ERROR\",\"line\":5,"))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString(
+                        "{\"type\":\"COMPLETED\",\"rowsRead\":3,\"rowsImported\":2,\"rowsFailed\":1,"))
+        );
+
+        assertThat(bookService.getBook("1234567890")).hasValueSatisfying(book ->
+                assertThat(book.getTitle()).isEqualTo("The Hobbit\n\nor \"There and Back Again\""));
+        assertThat(authorService.getAllAuthors()).hasSize(1);
+    }
+
+    @Test
+    public void testThatImportBooksFromCsvFailsOnlyTheRowWithAnUnterminatedQuote() throws Exception {
+        String csv = "isbn,title,author_name,author_age\n"
+                + "1234567890,12\" Single,Kamran,25\n"
+                + "9876543210,Game of Thrones,Kamran,25\n"
+                + "8556677898,The Lord of The Rings,Aamir,36\n";
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/import")
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(csv)
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString(
+                        "{\"type\":\"ERROR\",\"line\":2,\"message\":\"unterminated quoted value\""))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString(
+                        "{\"type\":\"COMPLETED\",\"rowsRead\":3,\"rowsImported\":2,\"rowsFailed\":1,"))
+        );
+
+        assertThat(bookService.getBook("1234567890")).isEmpty();
+        assertThat(bookService.getBook("9876543210")).isPresent();
+        assertThat(bookService.getBook("8556677898")).isPresent();
+    }
+
+    @Test
+    public void testThatImportBooksFromNdjsonReportsRowErrors() throws Exception {
+        String ndjson = "{\"isbn\":\"1234567890\",\"title\":\"The Hobbit\",\"author\":{\"name\":\"Kamran\",\"age\":25}}\n"
+                + "{\"title\":\"Missing isbn\"}\n"
+                + "{\"isbn\":\"9876543210\",\"title\":\n"
+                + "\n"
+                + "{\"isbn\":\"8556677898\",\"title\":\"Game of Thrones\",\"author\":{\"name\":\"Kamran\",\"age\":25}}\n";
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson)
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString(
+                        "{\"type\":\"ERROR\",\"line\":2,\"message\":\"isbn is required\""))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("{\"type\":\"ERROR\",\"line\":3,"))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString(
+                        "{\"type\":\"COMPLETED\",\"rowsRead\":4,\"rowsImported\":2,\"rowsFailed\":2,"))
+        );
+
+        assertThat(bookService.getBook("1234567890"))
+                .hasValueSatisfying(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("Kamran"));
+        assertThat(bookService.getBook("8556677898")).isPresent();
+        assertThat(authorService.getAllAuthors()).hasSize(1);
+    }
+}
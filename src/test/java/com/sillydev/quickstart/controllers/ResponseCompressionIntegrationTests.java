@@ -0,0 +1,99 @@
+package com.sillydev.quickstart.controllers;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ResponseCompressionIntegrationTests {
+
+    private BookService bookService;
+
+    private HttpClient httpClient;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    public ResponseCompressionIntegrationTests(BookService bookService) {
+        this.bookService = bookService;
+        this.httpClient = HttpClient.newHttpClient();
+    }
+
+    @Test
+    public void testThatGzipExportIsNotCompressedAgainByTheServer() throws Exception {
+        BookEntity book1 = TestDataUtil.createTestBook1(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+
+        HttpResponse<byte[]> response = get("/books/export?format=csv&gzip=true", "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().allValues(HttpHeaders.CONTENT_ENCODING)).containsExactly("gzip");
+        assertThat(BookExportControllerIntegrationTests.gunzip(response.body()))
+                .isEqualTo("isbn,title,author_id,author_name,author_age\n9876543210,Game of Thrones,,,\n");
+    }
+
+    @Test
+    public void testThatResponsesUnderTheThresholdAreNotCompressed() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        HttpResponse<byte[]> response = get("/books/" + book.getIsbn(), "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().length).isLessThan(2048);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).contains("\"isbn\":\"1234567890\"");
+    }
+
+    @Test
+    public void testThatResponsesOverTheThresholdAreCompressed() throws Exception {
+        List<BookEntity> books = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            books.add(BookEntity.builder()
+                    .isbn(String.format("978%07d", i))
+                    .title("The Hobbit, volume " + i)
+                    .authorEntity(TestDataUtil.createTestAuthor())
+                    .build());
+        }
+        bookService.createUpdateBooks(books);
+
+        HttpResponse<byte[]> identity = get("/books?size=100&sort=isbn", "identity");
+        HttpResponse<byte[]> compressed = get("/books?size=100&sort=isbn", "gzip");
+
+        assertThat(identity.body().length).isGreaterThan(2048);
+        assertThat(identity.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(compressed.headers().allValues(HttpHeaders.CONTENT_ENCODING)).containsExactly("gzip");
+        assertThat(compressed.body().length).isLessThan(identity.body().length);
+        assertThat(BookExportControllerIntegrationTests.gunzip(compressed.body()))
+                .isEqualTo(new String(identity.body(), StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
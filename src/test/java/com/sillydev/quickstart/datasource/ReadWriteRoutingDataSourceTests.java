@@ -0,0 +1,90 @@
+package com.sillydev.quickstart.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadWriteRoutingDataSourceTests {
+
+    private EmbeddedDatabase primaryDatabase;
+
+    private EmbeddedDatabase replicaDatabase;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    public ReadWriteRoutingDataSourceTests() {
+        this.primaryDatabase = createDatabase("primary");
+        this.replicaDatabase = createDatabase("replica");
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDatabase, replicaDatabase));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.readWriteTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    private static EmbeddedDatabase createDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + System.nanoTime())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReadYourWrites.clear();
+        primaryDatabase.shutdown();
+        replicaDatabase.shutdown();
+    }
+
+    @Test
+    public void testThatReadOnlyTransactionsAreRoutedToTheReplica() {
+        String node = readOnlyTransaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+
+        assertThat(node).isEqualTo("replica");
+    }
+
+    @Test
+    public void testThatReadWriteTransactionsAreRoutedToThePrimary() {
+        String node = readWriteTransaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    public void testThatStatementsOutsideTransactionsAreRoutedToThePrimary() {
+        String node = jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    public void testThatReadsPinnedAfterAWriteAreRoutedToThePrimary() {
+        ReadYourWrites.pinToPrimary();
+
+        String node = readOnlyTransaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+
+        assertThat(node).isEqualTo("primary");
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.sillydev.quickstart.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadWriteRoutingJpaTransactionTests {
+
+    private EmbeddedDatabase primaryDatabase;
+
+    private EmbeddedDatabase replicaDatabase;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    public ReadWriteRoutingJpaTransactionTests() {
+        this.primaryDatabase = createDatabase("primary");
+        this.replicaDatabase = createDatabase("replica");
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDatabase, replicaDatabase)));
+        factoryBean.setPackagesToScan("com.sillydev.quickstart.domain.entities");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.hbm2ddl.auto", "none"
+        ));
+        factoryBean.afterPropertiesSet();
+        this.entityManagerFactory = factoryBean.getObject();
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        this.readWriteTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    private static EmbeddedDatabase createDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + System.nanoTime())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReadYourWrites.clear();
+        entityManagerFactory.close();
+        primaryDatabase.shutdown();
+        replicaDatabase.shutdown();
+    }
+
+    private String currentNode() {
+        return (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult();
+    }
+
+    @Test
+    public void testThatReadOnlyJpaTransactionsAcquireTheReplicaConnection() {
+        String node = readOnlyTransaction.execute(status -> currentNode());
+
+        assertThat(node).isEqualTo("replica");
+    }
+
+    @Test
+    public void testThatReadWriteJpaTransactionsAcquireThePrimaryConnection() {
+        String node = readWriteTransaction.execute(status -> currentNode());
+
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    public void testThatLookupsRunOnPrimaryBypassTheReplicaAndRestoreThePin() {
+        String node = readOnlyTransaction.execute(status -> ReadYourWrites.onPrimary(this::currentNode));
+
+        assertThat(node).isEqualTo("primary");
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+
+        String nextNode = readOnlyTransaction.execute(status -> currentNode());
+
+        assertThat(nextNode).isEqualTo("replica");
+    }
+}
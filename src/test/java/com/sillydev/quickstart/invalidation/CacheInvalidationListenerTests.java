@@ -0,0 +1,82 @@
+package com.sillydev.quickstart.invalidation;
+
+import com.sillydev.quickstart.config.CacheConfig;
+import com.sillydev.quickstart.services.impl.AuthorIdentityCacheImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheInvalidationListenerTests {
+
+    private InMemoryCacheInvalidationBus bus;
+
+    private CacheManager otherNodeCacheManager;
+
+    public CacheInvalidationListenerTests() {
+        this.bus = new InMemoryCacheInvalidationBus();
+        this.otherNodeCacheManager = new ConcurrentMapCacheManager(CacheConfig.BOOKS_CACHE, CacheConfig.AUTHORS_CACHE);
+        new CacheInvalidationListener(bus, otherNodeCacheManager,
+                new AuthorIdentityCacheImpl(new SimpleMeterRegistry(), 100, 60));
+    }
+
+    @Test
+    public void testThatBookEventEvictsOnlyThatBook() {
+        otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).put("1234567890", "The Hobbit");
+        otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).put("9876543210", "Game of Thrones");
+
+        bus.publish(CacheInvalidationEvent.of(CachedEntity.BOOK, "1234567890"));
+
+        assertThat(otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).get("1234567890")).isNull();
+        assertThat(otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).get("9876543210")).isNotNull();
+    }
+
+    @Test
+    public void testThatAuthorEventEvictsTheAuthorByNumericId() {
+        otherNodeCacheManager.getCache(CacheConfig.AUTHORS_CACHE).put(7L, "Kamran");
+
+        bus.publish(CacheInvalidationEvent.of(CachedEntity.AUTHOR, 7L));
+
+        assertThat(otherNodeCacheManager.getCache(CacheConfig.AUTHORS_CACHE).get(7L)).isNull();
+    }
+
+    @Test
+    public void testThatAllEventClearsTheCache() {
+        otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).put("1234567890", "The Hobbit");
+        otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).put("9876543210", "Game of Thrones");
+
+        bus.publish(CacheInvalidationEvent.all(CachedEntity.BOOK));
+
+        assertThat(otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).get("1234567890")).isNull();
+        assertThat(otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).get("9876543210")).isNull();
+    }
+
+    @Test
+    public void testThatEventsPublishedInATransactionAreDeliveredAfterCommit() {
+        otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).put("1234567890", "The Hobbit");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(CacheInvalidationEvent.of(CachedEntity.BOOK, "1234567890"));
+            assertThat(otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).get("1234567890")).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(otherNodeCacheManager.getCache(CacheConfig.BOOKS_CACHE).get("1234567890")).isNull();
+    }
+
+    @Test
+    public void testThatPostgresPayloadCarriesEntityOriginAndKey() {
+        assertThat(PostgresCacheInvalidationBus.encode("node-1", CacheInvalidationEvent.of(CachedEntity.AUTHOR, 7L)))
+                .isEqualTo("AUTHOR:node-1:7");
+        assertThat(PostgresCacheInvalidationBus.encode("node-1", CacheInvalidationEvent.all(CachedEntity.BOOK)))
+                .isEqualTo("BOOK:node-1:");
+    }
+}
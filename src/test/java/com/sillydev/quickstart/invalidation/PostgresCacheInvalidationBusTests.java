@@ -0,0 +1,62 @@
+package com.sillydev.quickstart.invalidation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostgresCacheInvalidationBusTests {
+
+    private PostgresCacheInvalidationBus bus;
+
+    private List<CacheInvalidationEvent> received;
+
+    public PostgresCacheInvalidationBusTests() {
+        this.bus = new PostgresCacheInvalidationBus(null, null, "this-node");
+        this.received = new ArrayList<>();
+        bus.subscribe(received::add);
+    }
+
+    @Test
+    public void testThatEventsFromOtherNodesAreDelivered() {
+        bus.receive(PostgresCacheInvalidationBus.encode("other-node", CacheInvalidationEvent.of(CachedEntity.BOOK, "1234567890")));
+
+        assertThat(received).containsExactly(CacheInvalidationEvent.of(CachedEntity.BOOK, "1234567890"));
+    }
+
+    @Test
+    public void testThatEventsFromThisNodeAreIgnored() {
+        bus.receive(PostgresCacheInvalidationBus.encode("this-node", CacheInvalidationEvent.of(CachedEntity.AUTHOR, 7L)));
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    public void testThatAnEmptyKeyMeansEveryEntry() {
+        bus.receive(PostgresCacheInvalidationBus.encode("other-node", CacheInvalidationEvent.all(CachedEntity.BOOK)));
+
+        assertThat(received).singleElement().satisfies(event -> {
+            assertThat(event.entity()).isEqualTo(CachedEntity.BOOK);
+            assertThat(event.isAll()).isTrue();
+        });
+    }
+
+    @Test
+    public void testThatKeysContainingTheSeparatorSurviveTheRoundTrip() {
+        bus.receive(PostgresCacheInvalidationBus.encode("other-node", CacheInvalidationEvent.of(CachedEntity.BOOK, "978:0:261")));
+
+        assertThat(received).containsExactly(CacheInvalidationEvent.of(CachedEntity.BOOK, "978:0:261"));
+    }
+
+    @Test
+    public void testThatMalformedPayloadsAreIgnored() {
+        bus.receive("");
+        bus.receive("BOOK");
+        bus.receive("BOOK:other-node");
+        bus.receive("MAGAZINE:other-node:1234567890");
+
+        assertThat(received).isEmpty();
+    }
+}
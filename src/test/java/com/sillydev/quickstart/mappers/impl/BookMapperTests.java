@@ -0,0 +1,61 @@
+package com.sillydev.quickstart.mappers.impl;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.dto.AuthorDto;
+import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookMapperTests {
+
+    private BookMapper underTest;
+
+    private ModelMapper modelMapper;
+
+    public BookMapperTests() {
+        this.underTest = new BookMapper(new AuthorMapper());
+        this.modelMapper = new ModelMapper();
+        this.modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+    }
+
+    @Test
+    public void testThatMapToMatchesModelMapper() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        authorEntity.setId(7L);
+        BookEntity bookEntity = TestDataUtil.createTestBook(authorEntity);
+
+        BookDto result = underTest.mapTo(bookEntity);
+
+        assertThat(result).isEqualTo(modelMapper.map(bookEntity, BookDto.class));
+        assertThat(result.getAuthor().getName()).isEqualTo("Kamran");
+    }
+
+    @Test
+    public void testThatMapToMatchesModelMapperWithoutAuthor() {
+        BookEntity bookEntity = TestDataUtil.createTestBook(null);
+
+        BookDto result = underTest.mapTo(bookEntity);
+
+        assertThat(result).isEqualTo(modelMapper.map(bookEntity, BookDto.class));
+        assertThat(result.getAuthor()).isNull();
+    }
+
+    @Test
+    public void testThatMapFromMatchesModelMapper() {
+        BookDto bookDto = BookDto.builder()
+                .isbn("1234567890")
+                .title("The Hobbit")
+                .author(AuthorDto.builder().id(7L).name("Kamran").age(25).build())
+                .build();
+
+        BookEntity result = underTest.mapFrom(bookDto);
+
+        assertThat(result).isEqualTo(modelMapper.map(bookDto, BookEntity.class));
+        assertThat(result.getAuthorEntity().getId()).isEqualTo(7L);
+    }
+}
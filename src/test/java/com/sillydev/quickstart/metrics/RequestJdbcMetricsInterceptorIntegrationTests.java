@@ -0,0 +1,73 @@
+package com.sillydev.quickstart.metrics;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class RequestJdbcMetricsInterceptorIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    private BookService bookService;
+
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public RequestJdbcMetricsInterceptorIntegrationTests(
+            MockMvc mockMvc,
+            BookService bookService,
+            MeterRegistry meterRegistry
+    ) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    public void testThatStatementsAreRecordedPerEndpointAndStatus() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.jdbc.statements")
+                .tag("uri", "/books/{isbn}")
+                .tag("status", "200")
+                .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.jdbc.time")
+                .tag("uri", "/books/{isbn}")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.jdbc.connection.acquire")
+                .tag("uri", "/books/{isbn}")
+                .tag("status", "200")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+}
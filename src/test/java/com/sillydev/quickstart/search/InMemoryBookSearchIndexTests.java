@@ -0,0 +1,85 @@
+package com.sillydev.quickstart.search;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.repositories.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InMemoryBookSearchIndexTests {
+
+    private BookRepository bookRepository;
+
+    private InMemoryBookSearchIndex index;
+
+    private BookEntity book;
+
+    public InMemoryBookSearchIndexTests() {
+        AuthorEntity author = TestDataUtil.createTestAuthor();
+        author.setId(1L);
+        this.book = TestDataUtil.createTestBook(author);
+        this.bookRepository = mock(BookRepository.class);
+        when(bookRepository.findByIsbnIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> isbns = invocation.getArgument(0);
+            return isbns.contains(book.getIsbn()) ? List.of(book) : List.of();
+        });
+        this.index = new InMemoryBookSearchIndex(bookRepository);
+    }
+
+    private List<String> search(String query) {
+        return index.search(query, true, PageRequest.of(0, 10)).map(BookEntity::getIsbn).getContent();
+    }
+
+    @Test
+    public void testThatExistingBooksAreLoadedAtStartup() {
+        when(bookRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(book)));
+
+        index.afterSingletonsInstantiated();
+
+        assertThat(search("hobbit")).containsExactly(book.getIsbn());
+        assertThat(search("kamran")).containsExactly(book.getIsbn());
+    }
+
+    @Test
+    public void testThatChangesAreAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.bookSaved(book);
+            assertThat(search("hobbit")).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(search("hobbit")).containsExactly(book.getIsbn());
+    }
+
+    @Test
+    public void testThatRolledBackChangesAreNeverApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.bookSaved(book);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(search("hobbit")).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.entities.AuthorEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuthorIdentityCacheImplTests {
+
+    private AuthorIdentityCacheImpl underTest;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    public AuthorIdentityCacheImplTests() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.underTest = new AuthorIdentityCacheImpl(meterRegistry, 100, 60);
+    }
+
+    @Test
+    public void testThatUnchangedAuthorIsResolvedFromTheCache() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        authorEntity.setId(7L);
+        authorEntity.setVersion(3L);
+        underTest.recordUnchanged(authorEntity);
+
+        AuthorEntity requestedAuthor = TestDataUtil.createTestAuthor();
+        requestedAuthor.setId(7L);
+        Optional<AuthorEntity> result = underTest.findUnchanged(requestedAuthor);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getVersion()).isEqualTo(3L);
+        assertThat(result.get()).isNotSameAs(authorEntity);
+        assertThat(meterRegistry.get("authors.cascaded_writes").tag("outcome", "avoided").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void testThatChangedAuthorMissesTheCache() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        authorEntity.setId(7L);
+        underTest.recordUnchanged(authorEntity);
+
+        AuthorEntity requestedAuthor = TestDataUtil.createTestAuthor1();
+        requestedAuthor.setId(7L);
+
+        assertThat(underTest.findUnchanged(requestedAuthor)).isEmpty();
+        assertThat(meterRegistry.get("authors.identity_cache.lookups").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testThatRecordChangedEvictsTheAuthor() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        authorEntity.setId(7L);
+        underTest.recordUnchanged(authorEntity);
+
+        underTest.recordChanged(7L);
+
+        assertThat(underTest.findUnchanged(authorEntity)).isEmpty();
+        assertThat(meterRegistry.get("authors.cascaded_writes").tag("outcome", "written").counter().count())
+                .isEqualTo(1);
+    }
+
+}
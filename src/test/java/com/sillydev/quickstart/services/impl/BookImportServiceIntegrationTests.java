@@ -0,0 +1,59 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.dto.ImportEventDto;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.imports.ImportFormat;
+import com.sillydev.quickstart.services.BookImportService;
+import com.sillydev.quickstart.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "books.import.batch-size=2")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookImportServiceIntegrationTests {
+
+    private BookImportService bookImportService;
+
+    private BookService bookService;
+
+    @Autowired
+    public BookImportServiceIntegrationTests(BookImportService bookImportService, BookService bookService) {
+        this.bookImportService = bookImportService;
+        this.bookService = bookService;
+    }
+
+    @Test
+    public void testThatAnImportFailingPartwayEvictsBooksFromCommittedBatches() {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        assertThat(bookService.getBook(book.getIsbn()))
+                .hasValueSatisfying(cachedBook -> assertThat(cachedBook.getTitle()).isEqualTo("The Hobbit"));
+
+        CountDownLatch batchCommitted = new CountDownLatch(1);
+        InputStream input = new FailingInputStream("isbn,title,author_name,author_age\n"
+                + book.getIsbn() + ",There and Back Again,Kamran,25\n"
+                + "9876543210,Game of Thrones,Kamran,25\n", batchCommitted);
+
+        assertThatThrownBy(() -> bookImportService.importBooks(input, ImportFormat.CSV, event -> {
+            if (event.getType() == ImportEventDto.Type.PROGRESS) {
+                batchCommitted.countDown();
+            }
+        })).isInstanceOf(IOException.class);
+
+        assertThat(bookService.getBook(book.getIsbn()))
+                .hasValueSatisfying(importedBook -> assertThat(importedBook.getTitle()).isEqualTo("There and Back Again"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.config.DatabasePlatform;
+import com.sillydev.quickstart.domain.dto.ImportEventDto;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.imports.ImportFormat;
+import com.sillydev.quickstart.services.AuthorService;
+import com.sillydev.quickstart.services.BookImportService;
+import com.sillydev.quickstart.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "books.import.batch-size=2")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("postgres")
+@EnabledIfSystemProperty(named = "books.test.postgres-url", matches = ".+")
+public class BookImportServicePostgresIntegrationTests {
+
+    private BookImportService bookImportService;
+
+    private BookService bookService;
+
+    private AuthorService authorService;
+
+    private DatabasePlatform databasePlatform;
+
+    @Autowired
+    public BookImportServicePostgresIntegrationTests(
+            BookImportService bookImportService,
+            BookService bookService,
+            AuthorService authorService,
+            DatabasePlatform databasePlatform
+    ) {
+        this.bookImportService = bookImportService;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.databasePlatform = databasePlatform;
+    }
+
+    @Test
+    public void testThatImportBooksCopiesNewBooksAndMergesExistingOnes() throws IOException {
+        assertThat(databasePlatform.isPostgres()).isTrue();
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        BookEntity savedBook = bookService.createUpdateBook(book.getIsbn(), book);
+        String csv = "isbn,title,author_name,author_age\n"
+                + book.getIsbn() + ",\"The Hobbit,\nor There and Back Again\",Kamran,25\n"
+                + "9876543210,\"Game of Thrones \"\"Part 1\"\"\",Kamran,25\n"
+                + "8556677898,The Lord of The Rings,Aamir,36\n";
+
+        ImportEventDto completed = bookImportService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV, event -> {
+                });
+
+        assertThat(completed.getRowsImported()).isEqualTo(3);
+        assertThat(completed.getRowsFailed()).isZero();
+        assertThat(bookService.getBook(book.getIsbn())).hasValueSatisfying(importedBook -> {
+            assertThat(importedBook.getTitle()).isEqualTo("The Hobbit,\nor There and Back Again");
+            assertThat(importedBook.getVersion()).isEqualTo(savedBook.getVersion() + 1);
+        });
+        assertThat(bookService.getBook("9876543210")).hasValueSatisfying(importedBook -> {
+            assertThat(importedBook.getTitle()).isEqualTo("Game of Thrones \"Part 1\"");
+            assertThat(importedBook.getAuthorEntity().getId()).isEqualTo(savedBook.getAuthorEntity().getId());
+        });
+        assertThat(bookService.getBook("8556677898"))
+                .hasValueSatisfying(importedBook -> assertThat(importedBook.getAuthorEntity().getName()).isEqualTo("Aamir"));
+        assertThat(authorService.getAllAuthors()).hasSize(2);
+    }
+
+    @Test
+    public void testThatAnImportFailingPartwayEvictsBooksFromCommittedBatches() {
+        assertThat(databasePlatform.isPostgres()).isTrue();
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        assertThat(bookService.getBook(book.getIsbn()))
+                .hasValueSatisfying(cachedBook -> assertThat(cachedBook.getTitle()).isEqualTo("The Hobbit"));
+
+        CountDownLatch batchCommitted = new CountDownLatch(1);
+        InputStream input = new FailingInputStream("isbn,title,author_name,author_age\n"
+                + book.getIsbn() + ",There and Back Again,Kamran,25\n"
+                + "9876543210,Game of Thrones,Kamran,25\n", batchCommitted);
+
+        assertThatThrownBy(() -> bookImportService.importBooks(input, ImportFormat.CSV, event -> {
+            if (event.getType() == ImportEventDto.Type.PROGRESS) {
+                batchCommitted.countDown();
+            }
+        })).isInstanceOf(IOException.class);
+
+        assertThat(bookService.getBook(book.getIsbn()))
+                .hasValueSatisfying(importedBook -> assertThat(importedBook.getTitle()).isEqualTo("There and Back Again"));
+    }
+}
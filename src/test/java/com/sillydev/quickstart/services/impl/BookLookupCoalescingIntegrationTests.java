@@ -0,0 +1,116 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.sillydev.quickstart.TestDataUtil;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.sillydev.quickstart.services.impl.BookLookupCoalescingIntegrationTests$HeldBookSelects")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookLookupCoalescingIntegrationTests {
+
+    private static final int CALLERS = 20;
+
+    private BookService bookService;
+
+    private Statistics statistics;
+
+    @Autowired
+    public BookLookupCoalescingIntegrationTests(BookService bookService, EntityManagerFactory entityManagerFactory) {
+        this.bookService = bookService;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        HeldBookSelects.release();
+    }
+
+    @Test
+    public void testThatConcurrentGetBookCallsOnAColdKeyRunOneSelect() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        statistics.clear();
+        HeldBookSelects.hold();
+
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            List<CompletableFuture<Optional<BookEntity>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    awaitUninterruptibly(start);
+                    return bookService.getBook(book.getIsbn());
+                }, executor));
+            }
+            start.countDown();
+            assertThat(HeldBookSelects.firstSelectStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(200);
+            HeldBookSelects.release();
+
+            for (CompletableFuture<Optional<BookEntity>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS))
+                        .hasValueSatisfying(found -> assertThat(found.getTitle()).isEqualTo("The Hobbit"));
+            }
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class HeldBookSelects implements StatementInspector {
+
+        private static volatile CountDownLatch firstSelectStarted = new CountDownLatch(1);
+
+        private static volatile CountDownLatch released = new CountDownLatch(0);
+
+        static void hold() {
+            firstSelectStarted = new CountDownLatch(1);
+            released = new CountDownLatch(1);
+        }
+
+        static void release() {
+            released.countDown();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("select") && normalized.contains(" from books ")) {
+                firstSelectStarted.countDown();
+                awaitUninterruptibly(released);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.domain.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest(properties = {
+        "books.write-behind.enabled=true",
+        "books.write-behind.capacity=1",
+        "books.write-behind.max-delay-ms=60000",
+        "books.write-behind.offer-timeout-ms=0"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BookWriteQueueBackpressureIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    public BookWriteQueueBackpressureIntegrationTests(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    public void testThatAFullQueueRejectsWritesWithRetryAfter() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/1234567890")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookDto.builder().title("Queued").build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isAccepted()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/9876543210")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookDto.builder().title("Rejected").build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isServiceUnavailable()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1")
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/1234567890")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookDto.builder().title("Coalesced").build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isAccepted()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/write-queue")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.depth").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejectedWrites").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.coalescedWrites").value(1)
+        );
+    }
+}
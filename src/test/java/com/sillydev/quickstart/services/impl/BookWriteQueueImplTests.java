@@ -0,0 +1,69 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.sillydev.quickstart.domain.dto.WriteQueueStatusDto;
+import com.sillydev.quickstart.domain.entities.BookEntity;
+import com.sillydev.quickstart.services.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookWriteQueueImplTests {
+
+    @Test
+    public void testThatTransientFailuresAreRetriedWithBackoff() throws Exception {
+        BookService bookService = mock(BookService.class);
+        when(bookService.createUpdateBooks(anyCollection()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(Map.of());
+        BookWriteQueueImpl queue = new BookWriteQueueImpl(bookService, new SimpleMeterRegistry(), 10, 10, 1, 0, 3, 1, 10);
+
+        queue.start();
+        queue.offer("1234567890", BookEntity.builder().title("Retried").build());
+        WriteQueueStatusDto status = awaitSettled(queue);
+        queue.stop();
+
+        verify(bookService, times(3)).createUpdateBooks(anyCollection());
+        assertThat(status.getCommittedWrites()).isEqualTo(1);
+        assertThat(status.getRetriedBatches()).isEqualTo(2);
+        assertThat(status.getFailedWrites()).isZero();
+    }
+
+    @Test
+    public void testThatWritesAreRecordedAsFailedOnceRetriesAreExhausted() throws Exception {
+        BookService bookService = mock(BookService.class);
+        when(bookService.createUpdateBooks(anyCollection())).thenThrow(new QueryTimeoutException("timeout"));
+        BookWriteQueueImpl queue = new BookWriteQueueImpl(bookService, new SimpleMeterRegistry(), 10, 10, 1, 0, 2, 1, 10);
+
+        queue.start();
+        queue.offer("1234567890", BookEntity.builder().title("Lost").build());
+        WriteQueueStatusDto status = awaitSettled(queue);
+        queue.stop();
+
+        verify(bookService, times(3)).createUpdateBooks(anyCollection());
+        assertThat(status.getFailedWrites()).isEqualTo(1);
+        assertThat(status.getRecentFailures()).singleElement().satisfies(failure -> {
+            assertThat(failure.getIsbn()).isEqualTo("1234567890");
+            assertThat(failure.getError()).isEqualTo("timeout");
+        });
+    }
+
+    private static WriteQueueStatusDto awaitSettled(BookWriteQueueImpl queue) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        WriteQueueStatusDto status = queue.status();
+        while (status.getCommittedWrites() + status.getFailedWrites() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = queue.status();
+        }
+        return status;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sillydev.quickstart.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sillydev.quickstart.domain.dto.BookDto;
+import com.sillydev.quickstart.domain.dto.WriteQueueStatusDto;
+import com.sillydev.quickstart.services.BookService;
+import com.sillydev.quickstart.services.BookWriteQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "books.write-behind.enabled=true",
+        "books.write-behind.max-delay-ms=500"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BookWriteQueueIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    private BookService bookService;
+
+    private BookWriteQueue bookWriteQueue;
+
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    public BookWriteQueueIntegrationTests(MockMvc mockMvc, BookService bookService, BookWriteQueue bookWriteQueue) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.bookWriteQueue = bookWriteQueue;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    public void testThatQueuedWritesAreCoalescedAndCommitted() throws Exception {
+        for (String title : new String[] {"First draft", "Final title"}) {
+            mockMvc.perform(
+                    MockMvcRequestBuilders.put("/books/1234567890")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(BookDto.builder().title(title).build()))
+            ).andExpect(
+                    MockMvcResultMatchers.status().isAccepted()
+            );
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (bookWriteQueue.status().getCommittedWrites() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        WriteQueueStatusDto status = bookWriteQueue.status();
+        assertThat(status.getCommittedWrites()).isEqualTo(1);
+        assertThat(status.getCoalescedWrites()).isEqualTo(1);
+        assertThat(status.getDepth()).isZero();
+        assertThat(bookService.getBook("1234567890"))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("Final title"));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/write-queue")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.committedWrites").value(1)
+        );
+    }
+
+    @Test
+    public void testThatAFailingWriteIsIsolatedFromTheRestOfItsBatch() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/1111111111")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookDto.builder().title("Good book").build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isAccepted()
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/2222222222")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookDto.builder().title("x".repeat(300)).build()))
+        ).andExpect(
+                MockMvcResultMatchers.status().isAccepted()
+        );
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (bookWriteQueue.status().getFailedWrites() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        WriteQueueStatusDto status = bookWriteQueue.status();
+        assertThat(status.getCommittedWrites()).isEqualTo(1);
+        assertThat(status.getFailedWrites()).isEqualTo(1);
+        assertThat(bookService.getBook("1111111111")).isPresent();
+        assertThat(bookService.getBook("2222222222")).isEmpty();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/write-queue")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.recentFailures.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.recentFailures[0].isbn").value("2222222222")
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.sillydev.quickstart.services.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class FailingInputStream extends InputStream {
+
+    private InputStream content;
+
+    private CountDownLatch failAfter;
+
+    FailingInputStream(String content, CountDownLatch failAfter) {
+        this.content = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        this.failAfter = failAfter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = content.read(b, off, len);
+        if (read > 0) {
+            return read;
+        }
+        try {
+            failAfter.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new IOException("connection reset");
+    }
+}